@@ -70,13 +70,15 @@ import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileFilter;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -90,12 +92,13 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.logging.Level;
-import java.util.regex.Matcher;
+import java.util.stream.IntStream;
 
 /**
  * The main class for loading, unloading and reloading scripts.
@@ -116,6 +119,7 @@ public class ScriptLoader {
 		SkriptEventHandler.removeAllTriggers();
 		Commands.clearCommands();
 		Functions.clearFunctions();
+		scriptHashes.clear();
 	}
 	
 	/**
@@ -210,6 +214,12 @@ public class ScriptLoader {
 	@SuppressWarnings("null")
 	private static final Set<File> loadedFiles = Collections.synchronizedSet(new HashSet<>());
 	
+	/**
+	 * Hashes of contents of script files, from when their structures were last loaded.
+	 * Used to find out which scripts have changed.
+	 */
+	private static final Map<File, byte[]> scriptHashes = new ConcurrentHashMap<>();
+	
 	/**
 	 * Filter for enabled scripts & folders.
 	 */
@@ -483,6 +493,7 @@ public class ScriptLoader {
 						
 						// Use internal unload method which does not call validateFunctions()
 						unloadScript_(script);
+						scriptHashes.remove(script);
 						String name = Skript.getInstance().getDataFolder().toPath().toAbsolutePath()
 							.resolve(Skript.SCRIPTSFOLDER).relativize(script.toPath()).toString();
 						assert name != null;
@@ -503,6 +514,92 @@ public class ScriptLoader {
 			});
 	}
 	
+	/**
+	 * Reloads scripts in the scripts folder that have changed since they were
+	 * loaded, loads new scripts and unloads scripts that no longer exist.
+	 * Scripts that haven't changed are left loaded as they are. Calls to functions
+	 * in the reloaded scripts are revalidated, like when reloading single scripts.
+	 */
+	static CompletableFuture<Void> reloadChangedScripts(OpenCloseable openCloseable) {
+		File scriptsFolder = new File(Skript.getInstance().getDataFolder(), Skript.SCRIPTSFOLDER + File.separator);
+		if (!scriptsFolder.isDirectory())
+			//noinspection ResultOfMethodCallIgnored
+			scriptsFolder.mkdirs();
+		
+		Date start = new Date();
+		
+		updateDisabledScripts(scriptsFolder.toPath());
+		
+		Set<File> removedFiles = new HashSet<>(loadedFiles);
+		List<File> changedFiles = new ArrayList<>();
+		for (File file : getScriptFiles(scriptsFolder)) {
+			String name = scriptsFolder.toPath().toAbsolutePath().relativize(file.toPath().toAbsolutePath()).toString();
+			File scriptFile = getScriptFile(name);
+			removedFiles.remove(scriptFile);
+			
+			byte[] newHash;
+			try {
+				newHash = hash(Files.readAllBytes(file.toPath()));
+			} catch (IOException e) {
+				newHash = null; // Let loading the script report this
+			}
+			byte[] oldHash = scriptHashes.get(scriptFile);
+			if (newHash == null || oldHash == null || !loadedFiles.contains(scriptFile) || !MessageDigest.isEqual(newHash, oldHash))
+				changedFiles.add(file);
+		}
+		
+		for (File script : removedFiles) {
+			unloadScript_(script);
+			scriptHashes.remove(script);
+		}
+		if (!isAsync()) {
+			for (File script : changedFiles)
+				unloadScript_(getScriptFile(scriptsFolder.toPath().toAbsolutePath()
+					.relativize(script.toPath().toAbsolutePath()).toString()));
+		}
+		
+		CountingLogHandler logHandler = new CountingLogHandler(Level.SEVERE).start();
+		List<Config> configs;
+		try {
+			configs = loadStructures(changedFiles.toArray(new File[0]));
+			Functions.validateFunctions();
+		} finally {
+			logHandler.stop();
+		}
+		
+		return loadScripts(configs, OpenCloseable.combine(openCloseable, logHandler))
+			.thenAccept(scriptInfo -> {
+				if (logHandler.getCount() == 0)
+					Skript.info(m_no_errors.toString());
+				if (Skript.logNormal())
+					Skript.info(m_scripts_loaded.toString(
+						scriptInfo.files,
+						scriptInfo.triggers,
+						scriptInfo.commands,
+						start.difference(new Date())
+					));
+			});
+	}
+	
+	/**
+	 * @param directory A directory.
+	 * @return All enabled scripts in the given directory and its subdirectories.
+	 */
+	private static List<File> getScriptFiles(File directory) {
+		List<File> scripts = new ArrayList<>();
+		File[] files = directory.listFiles(scriptFilter);
+		if (files == null)
+			return scripts;
+		for (File file : files) {
+			if (file.isDirectory()) {
+				scripts.addAll(getScriptFiles(file));
+			} else {
+				scripts.add(file);
+			}
+		}
+		return scripts;
+	}
+	
 	/**
 	 * Loads the specified scripts.
 	 *
@@ -596,6 +693,7 @@ public class ScriptLoader {
 		// Track what is loaded
 		ScriptInfo scriptInfo = new ScriptInfo();
 		scriptInfo.files = 1; // Loading one script
+		Date start = new Date();
 		
 		try {
 			if (SkriptConfig.keepConfigsLoaded.value())
@@ -716,7 +814,7 @@ public class ScriptLoader {
 						getParser().deleteCurrentEvent();
 						
 						continue;
-					} else if (event.toLowerCase(Locale.ENGLISH).startsWith("function ")) {
+					} else if (Functions.isFunctionDefinition(event)) {
 						
 						getParser().setCurrentEvent("function", FunctionEvent.class);
 						
@@ -765,7 +863,7 @@ public class ScriptLoader {
 				}
 				
 				if (Skript.logHigh())
-					Skript.info("loaded " + scriptInfo.triggers + " trigger" + (scriptInfo.triggers == 1 ? "" : "s")+ " and " + scriptInfo.commands + " command" + (scriptInfo.commands == 1 ? "" : "s") + " from '" + config.getFileName() + "'");
+					Skript.info("loaded " + scriptInfo.triggers + " trigger" + (scriptInfo.triggers == 1 ? "" : "s")+ " and " + scriptInfo.commands + " command" + (scriptInfo.commands == 1 ? "" : "s") + " from '" + config.getFileName() + "' in " + start.difference(new Date()));
 				
 				getParser().setCurrentScript(null);
 				Aliases.setScriptAliases(null); // These are per-script
@@ -853,16 +951,7 @@ public class ScriptLoader {
 	 */
 	public static List<Config> loadStructures(File[] files) {
 		Arrays.sort(files);
-		
-		List<Config> loadedFiles = new ArrayList<>(files.length);
-		for (File f : files) {
-			assert f != null : Arrays.toString(files);
-			Config config = loadStructure(f);
-			if (config != null)
-				loadedFiles.add(config);
-		}
-		
-		return loadedFiles;
+		return loadStructures(Arrays.asList(files));
 	}
 	
 	/**
@@ -877,23 +966,67 @@ public class ScriptLoader {
 			return config != null ? Collections.singletonList(config) : Collections.emptyList();
 		}
 		
-		File[] files = directory.listFiles(scriptFilter);
-		Arrays.sort(files);
+		List<File> files = new ArrayList<>();
+		collectStructures(directory, files);
+		return loadStructures(files);
+	}
+	
+	/**
+	 * Collects scripts in given directory and its subdirectories, in the order
+	 * their structures should be loaded in.
+	 */
+	private static void collectStructures(File directory, List<File> files) {
+		File[] children = directory.listFiles(scriptFilter);
+		Arrays.sort(children);
 		
-		List<Config> loadedDirectories = new ArrayList<>(files.length);
-		List<Config> loadedFiles = new ArrayList<>(files.length);
-		for (File file : files) {
+		List<File> directoryFiles = new ArrayList<>(children.length);
+		for (File file : children) {
 			if (file.isDirectory()) {
-				loadedDirectories.addAll(loadStructures(file));
+				collectStructures(file, files);
 			} else {
-				Config cfg = loadStructure(file);
-				if (cfg != null)
-					loadedFiles.add(cfg);
+				directoryFiles.add(file);
 			}
 		}
-
-		loadedDirectories.addAll(loadedFiles);
-		return loadedDirectories;
+		files.addAll(directoryFiles);
+	}
+	
+	/**
+	 * Loads structures of given scripts, in the order they are given.
+	 */
+	private static List<Config> loadStructures(List<File> files) {
+		// Reading scripts doesn't touch anything else, so it can be done in parallel
+		// Log messages are retained and printed in order when the structures are loaded
+		Config[] configs = new Config[files.size()];
+		RetainingLogHandler[] logs = new RetainingLogHandler[files.size()];
+		IntStream.range(0, files.size()).parallel().forEach(i -> {
+			RetainingLogHandler log = SkriptLogger.startRetainingLog();
+			try {
+				File f = files.get(i);
+				if (f.exists())
+					configs[i] = readStructure(f);
+			} finally {
+				log.stop();
+			}
+			logs[i] = log;
+		});
+		
+		// Function signatures must be loaded in order, so that duplicates are reported consistently
+		List<Config> loadedFiles = new ArrayList<>(files.size());
+		for (int i = 0; i < configs.length; i++) {
+			logs[i].printLog();
+			File f = files.get(i);
+			Config config = configs[i];
+			if (config == null) {
+				if (!f.exists()) // It might be good idea to unload it now
+					unloadScript(f);
+				continue;
+			}
+			config = loadStructure(config);
+			if (config != null)
+				loadedFiles.add(config);
+		}
+		
+		return loadedFiles;
 	}
 	
 	/**
@@ -901,7 +1034,6 @@ public class ScriptLoader {
 	 * actually loading that script.
 	 * @param f Script file.
 	 */
-	@SuppressWarnings("resource") // Stream is closed in Config constructor called in loadStructure
 	@Nullable
 	public static Config loadStructure(File f) {
 		if (!f.exists()) { // If file does not exist...
@@ -909,11 +1041,25 @@ public class ScriptLoader {
 			return null;
 		}
 		
+		Config config = readStructure(f);
+		return config != null ? loadStructure(config) : null;
+	}
+	
+	/**
+	 * Reads the given script into a config without loading anything from it.
+	 * Can be called from any thread.
+	 * @param f Script file.
+	 * @return Config of the script, or null if it couldn't be read.
+	 */
+	@Nullable
+	private static Config readStructure(File f) {
+		String name = Skript.getInstance().getDataFolder().toPath().toAbsolutePath()
+				.resolve(Skript.SCRIPTSFOLDER).relativize(f.toPath().toAbsolutePath()).toString();
+		assert name != null;
 		try {
-			String name = Skript.getInstance().getDataFolder().toPath().toAbsolutePath()
-					.resolve(Skript.SCRIPTSFOLDER).relativize(f.toPath().toAbsolutePath()).toString();
-			assert name != null;
-			return loadStructure(new FileInputStream(f), name);
+			byte[] contents = Files.readAllBytes(f.toPath());
+			scriptHashes.put(getScriptFile(name), hash(contents));
+			return new Config(new ByteArrayInputStream(contents), name, getScriptFile(name), true, false, ":");
 		} catch (IOException e) {
 			Skript.error("Could not load " + f.getName() + ": " + ExceptionUtils.toString(e));
 		}
@@ -933,7 +1079,7 @@ public class ScriptLoader {
 			Config config = new Config(
 				source,
 				name,
-				Skript.getInstance().getDataFolder().toPath().resolve(Skript.SCRIPTSFOLDER).resolve(name).toFile(),
+				getScriptFile(name),
 				true,
 				false,
 				":"
@@ -946,6 +1092,22 @@ public class ScriptLoader {
 		return null;
 	}
 	
+	/**
+	 * @param name Name of script, relative to the scripts folder.
+	 * @return File of the script, as used for {@link #getLoadedFiles()}.
+	 */
+	private static File getScriptFile(String name) {
+		return Skript.getInstance().getDataFolder().toPath().resolve(Skript.SCRIPTSFOLDER).resolve(name).toFile();
+	}
+	
+	private static byte[] hash(byte[] contents) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(contents);
+		} catch (NoSuchAlgorithmException e) {
+			throw new AssertionError(e); // Every Java platform supports SHA-256
+		}
+	}
+	
 	/**
 	 * Loads structure of given script, currently only for functions. Must be called before
 	 * actually loading that script.
@@ -968,7 +1130,7 @@ public class ScriptLoader {
 				if (!SkriptParser.validateLine(event))
 					continue;
 				
-				if (event.toLowerCase(Locale.ENGLISH).startsWith("function ")) {
+				if (Functions.isFunctionDefinition(event)) {
 					
 					getParser().setCurrentEvent("function", FunctionEvent.class);
 					
@@ -1017,6 +1179,7 @@ public class ScriptLoader {
 	 */
 	public static ScriptInfo unloadScript(File script) {
 		ScriptInfo r = unloadScript_(script);
+		scriptHashes.remove(script); // Not in unloadScript_, which is also used when reloading
 		Functions.validateFunctions();
 		return r;
 	}
@@ -1087,16 +1250,30 @@ public class ScriptLoader {
 	 * Replaces options in a string.
 	 */
 	public static String replaceOptions(String s) {
-		String r = StringUtils.replaceAll(s, "\\{@(.+?)\\}", m -> {
-			String option = getParser().getCurrentOptions().get(m.group(1));
+		int start = s.indexOf("{@");
+		if (start == -1) // Most lines don't use options
+			return s;
+		
+		Map<String, String> options = getParser().getCurrentOptions();
+		StringBuilder r = new StringBuilder(s.length());
+		int last = 0;
+		while (start != -1) {
+			int end = s.indexOf('}', start + 3); // Option name is at least one character long
+			if (end == -1)
+				break;
+			String name = s.substring(start + 2, end);
+			String option = options.get(name);
+			r.append(s, last, start);
 			if (option == null) {
-				Skript.error("undefined option " + m.group());
-				return m.group();
+				Skript.error("undefined option {@" + name + "}");
+				r.append(s, start, end + 1);
+			} else {
+				r.append(option);
 			}
-			return Matcher.quoteReplacement(option);
-		});
-		assert r != null;
-		return r;
+			last = end + 1;
+			start = s.indexOf("{@", last);
+		}
+		return r.append(s, last, s.length()).toString();
 	}
 	
 	/**
@@ -126,10 +126,12 @@ import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.skript.update.ReleaseManifest;
 import ch.njol.skript.update.ReleaseStatus;
 import ch.njol.skript.update.UpdateManifest;
+import ch.njol.skript.util.DelayScheduler;
 import ch.njol.skript.util.EmptyStacktraceException;
 import ch.njol.skript.util.ExceptionUtils;
 import ch.njol.skript.util.FileUtils;
 import ch.njol.skript.util.Getter;
+import ch.njol.skript.util.MainThreadExecutor;
 import ch.njol.skript.util.Task;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.util.Version;
@@ -512,6 +514,8 @@ public final class Skript extends JavaPlugin implements Listener {
 		}
 
 		Commands.registerListeners();
+		DelayScheduler.start(); // Before any script can schedule tasks
+		MainThreadExecutor.start();
 		
 		if (logNormal())
 			info(" " + Language.get("skript.copyright"));
@@ -1075,6 +1079,8 @@ public final class Skript extends JavaPlugin implements Listener {
 		}
 		
 		Bukkit.getScheduler().cancelTasks(this);
+		DelayScheduler.stop();
+		MainThreadExecutor.stop();
 		
 		for (Closeable c : closeOnDisable) {
 			try {
@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
@@ -38,6 +39,7 @@ import ch.njol.skript.aliases.Aliases;
 import ch.njol.skript.command.CommandHelp;
 import ch.njol.skript.config.Config;
 import ch.njol.skript.doc.HTMLGenerator;
+import ch.njol.skript.lang.function.FunctionCache;
 import ch.njol.skript.localization.ArgsMessage;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.localization.PluralizingArgsMessage;
@@ -46,8 +48,10 @@ import ch.njol.skript.log.TimingLogHandler;
 import ch.njol.skript.tests.runner.SkriptTestEvent;
 import ch.njol.skript.tests.runner.TestMode;
 import ch.njol.skript.tests.runner.TestTracker;
+import ch.njol.skript.util.DelayScheduler;
 import ch.njol.skript.util.ExceptionUtils;
 import ch.njol.skript.util.FileUtils;
+import ch.njol.skript.util.MainThreadExecutor;
 import ch.njol.skript.util.SkriptColor;
 import ch.njol.util.OpenCloseable;
 import ch.njol.util.StringUtils;
@@ -141,12 +145,16 @@ public class SkriptCommand implements CommandExecutor {
 				} else if (args[1].equalsIgnoreCase("scripts")) {
 					reloading(sender, "scripts");
 					
-					if (!ScriptLoader.isAsync())
-						ScriptLoader.disableScripts();
-					
-					ScriptLoader.loadScripts(OpenCloseable.combine(logHandler, timingLogHandler))
-						.thenAccept(unused ->
-							reloaded(sender, logHandler, timingLogHandler, "scripts"));
+					CompletableFuture<Void> future;
+					if (SkriptConfig.reloadOnlyChangedScripts.value()) {
+						future = ScriptLoader.reloadChangedScripts(OpenCloseable.combine(logHandler, timingLogHandler));
+					} else {
+						if (!ScriptLoader.isAsync())
+							ScriptLoader.disableScripts();
+						future = ScriptLoader.loadScripts(OpenCloseable.combine(logHandler, timingLogHandler));
+					}
+					future.thenAccept(unused ->
+						reloaded(sender, logHandler, timingLogHandler, "scripts"));
 				} else if (args[1].equalsIgnoreCase("config")) {
 					reloading(sender, "main config");
 					SkriptConfig.load();
@@ -349,6 +357,10 @@ public class SkriptCommand implements CommandExecutor {
 						Skript.info(sender, " - " + plugin.getName() + " v" + ver);
 					}
 				}
+				info(sender, "info.function cache", FunctionCache.getHits(), FunctionCache.getMisses());
+				info(sender, "info.delayed tasks", DelayScheduler.getPending());
+				info(sender, "info.main thread tasks", MainThreadExecutor.getQueued(),
+					MainThreadExecutor.getAverageWait(), MainThreadExecutor.getMaxWait());
 			} else if (args[0].equalsIgnoreCase("help")) {
 				skriptCommandHelp.showHelp(sender);
 			} else if (args[0].equalsIgnoreCase("gen-docs")) {
@@ -325,6 +325,24 @@ public class SkriptConfig {
 
 	public static final Option<Timespan> longParseTimeWarningThreshold = new Option<>("long parse time warning threshold", new Timespan(0));
 
+	public static final Option<Boolean> reloadOnlyChangedScripts = new Option<>("reload only changed scripts", false)
+		.optional(true);
+
+	public static final Option<Boolean> staggerPeriodicalEvents = new Option<>("stagger periodical events", false)
+		.optional(true);
+
+	public static final Option<Integer> delayedTasksPerTickLimit = new Option<>("delayed tasks per tick limit", 0)
+		.optional(true);
+
+	public static final Option<Integer> gradualBlockChangeTimeLimit = new Option<>("gradual block change time limit", 10)
+		.optional(true);
+
+	public static final Option<Integer> functionCacheSize = new Option<>("function cache size", 256)
+		.optional(true);
+
+	public static final Option<Timespan> functionCacheLifetime = new Option<>("function cache lifetime", new Timespan(0))
+		.optional(true);
+
 	/**
 	 * This should only be used in special cases
 	 */
@@ -19,11 +19,16 @@
 package ch.njol.skript;
 
 import java.io.File;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Bukkit;
 import org.bukkit.event.Cancellable;
@@ -43,6 +48,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import ch.njol.skript.ScriptLoader.ScriptInfo;
 import ch.njol.skript.command.Commands;
 import ch.njol.skript.lang.SelfRegisteringSkriptEvent;
+import ch.njol.skript.lang.SkriptEvent;
 import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.util.NonNullPair;
@@ -94,22 +100,163 @@ public abstract class SkriptEventHandler {
 	
 	private static final List<Trigger> selfRegisteredTriggers = new ArrayList<>();
 	
-	private static Iterator<Trigger> getTriggers(Class<? extends Event> event) {
-		return new ArrayList<>(triggers).stream()
-			.filter(pair -> pair.getFirst().isAssignableFrom(event))
-			.map(NonNullPair::getSecond)
-			.iterator();
+	/**
+	 * Triggers for each event class that has been called, found from {@link #triggers}.
+	 * Replaced with an empty map whenever triggers are added or removed.
+	 */
+	private static volatile Map<Class<? extends Event>, EventTriggers> eventTriggers = new ConcurrentHashMap<>();
+	
+	/**
+	 * Triggers that may apply to events of one class. Triggers whose events
+	 * provide {@link SkriptEvent#getEventKeys() keys} are indexed by them,
+	 * so that only the ones matching the key of an event need to be checked.
+	 */
+	private static class EventTriggers {
+		
+		/**
+		 * All triggers for the event class, in the order they were added.
+		 */
+		private final Trigger[] all;
+		
+		/**
+		 * Positions of triggers without keys in {@link #all}.
+		 */
+		private final BitSet unkeyed = new BitSet();
+		
+		/**
+		 * Triggers with keys, grouped by class of their SkriptEvent.
+		 */
+		private final List<KeyedTriggers> keyed = new ArrayList<>();
+		
+		EventTriggers(Class<? extends Event> event) {
+			List<Trigger> matching = new ArrayList<>();
+			for (NonNullPair<Class<? extends Event>, Trigger> pair : new ArrayList<>(triggers)) {
+				if (pair.getFirst().isAssignableFrom(event))
+					matching.add(pair.getSecond());
+			}
+			all = matching.toArray(new Trigger[0]);
+			
+			Map<Class<? extends SkriptEvent>, KeyedTriggers> keyedByClass = new HashMap<>();
+			for (int i = 0; i < all.length; i++) {
+				SkriptEvent skriptEvent = all[i].getEvent();
+				Object[] keys = skriptEvent.getEventKeys();
+				if (keys == null) {
+					unkeyed.set(i);
+					continue;
+				}
+				
+				KeyedTriggers group = keyedByClass.get(skriptEvent.getClass());
+				if (group == null) {
+					group = new KeyedTriggers(skriptEvent);
+					keyedByClass.put(skriptEvent.getClass(), group);
+					keyed.add(group);
+				}
+				group.all.set(i);
+				for (Object key : keys)
+					group.byKey.computeIfAbsent(key, k -> new BitSet()).set(i);
+			}
+		}
+		
+		/**
+		 * Finds triggers that may apply to given event in its current state.
+		 * @param e The event.
+		 * @param from Position in {@link #all} of the first trigger to find.
+		 * @param matching Set to put positions of the found triggers in.
+		 * Any other positions in it are cleared.
+		 */
+		void findTriggers(Event e, int from, BitSet matching) {
+			matching.clear(); // May contain positions of triggers of other event classes
+			if (keyed.isEmpty()) {
+				matching.set(from, all.length);
+				return;
+			}
+			
+			matching.or(unkeyed);
+			for (KeyedTriggers group : keyed) {
+				Object key = group.keyProvider.getEventKey(e);
+				BitSet keyMatching = key == null ? group.all : group.byKey.get(key);
+				if (keyMatching != null)
+					matching.or(keyMatching);
+			}
+			matching.clear(0, from);
+		}
+		
+	}
+	
+	/**
+	 * Triggers whose events are of one SkriptEvent class and have keys.
+	 */
+	private static class KeyedTriggers {
+		
+		/**
+		 * Any event of the class, used to get keys of Bukkit events.
+		 */
+		final SkriptEvent keyProvider;
+		
+		/**
+		 * Positions of all triggers of this group.
+		 */
+		final BitSet all = new BitSet();
+		
+		/**
+		 * Positions of triggers by the keys of their events.
+		 */
+		final Map<Object, BitSet> byKey = new HashMap<>();
+		
+		KeyedTriggers(SkriptEvent keyProvider) {
+			this.keyProvider = keyProvider;
+		}
+		
+	}
+	
+	private static EventTriggers getTriggers(Event event) {
+		Map<Class<? extends Event>, EventTriggers> eventTriggers = SkriptEventHandler.eventTriggers;
+		Class<? extends Event> c = event.getClass();
+		EventTriggers ts = eventTriggers.get(c);
+		if (ts == null) {
+			ts = new EventTriggers(c);
+			eventTriggers.put(c, ts);
+		}
+		return ts;
+	}
+	
+	/**
+	 * Sets of trigger positions that are reused by {@link #check(Event, EventPriority)}.
+	 * Triggers may call other events, so each call takes its own set.
+	 */
+	private static final ThreadLocal<Deque<BitSet>> matchingTriggers = ThreadLocal.withInitial(ArrayDeque::new);
+	
+	/**
+	 * Forgets the triggers found for event classes, to be called whenever {@link #triggers} changes.
+	 */
+	private static void clearEventTriggers() {
+		eventTriggers = new ConcurrentHashMap<>();
 	}
 	
 	private static void check(Event e, EventPriority priority) {
-		Iterator<Trigger> ts = getTriggers(e.getClass());
-		if (!ts.hasNext())
+		EventTriggers ts = getTriggers(e);
+		if (ts.all.length == 0)
+			return;
+		
+		Deque<BitSet> buffers = matchingTriggers.get();
+		BitSet matching = buffers.isEmpty() ? new BitSet(ts.all.length) : buffers.pop();
+		try {
+			check(e, priority, ts, matching);
+		} finally {
+			matching.clear();
+			buffers.push(matching);
+		}
+	}
+	
+	private static void check(Event e, EventPriority priority, EventTriggers ts, BitSet matching) {
+		ts.findTriggers(e, 0, matching);
+		if (matching.isEmpty())
 			return;
 		
 		if (Skript.logVeryHigh()) {
 			boolean hasTrigger = false;
-			while (ts.hasNext()) {
-				Trigger trigger = ts.next();
+			for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+				Trigger trigger = ts.all[i];
 				if (trigger.getEvent().getEventPriority() == priority && trigger.getEvent().check(e)) {
 					hasTrigger = true;
 					break;
@@ -117,8 +264,6 @@ public abstract class SkriptEventHandler {
 			}
 			if (!hasTrigger)
 				return;
-			Class<? extends Event> c = e.getClass();
-			ts = getTriggers(c);
 			
 			logEventStart(e);
 		}
@@ -131,8 +276,8 @@ public abstract class SkriptEventHandler {
 			return;
 		}
 		
-		while (ts.hasNext()) {
-			Trigger t = ts.next();
+		for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+			Trigger t = ts.all[i];
 			if (t.getEvent().getEventPriority() != priority || !t.getEvent().check(e))
 				continue;
 			
@@ -143,6 +288,9 @@ public abstract class SkriptEventHandler {
 			
 			SkriptTimings.stop(timing);
 			logTriggerEnd(t);
+			
+			// The trigger may have changed the event, so its keys must be found again
+			ts.findTriggers(e, i + 1, matching);
 		}
 		
 		logEventEnd();
@@ -183,6 +331,7 @@ public abstract class SkriptEventHandler {
 		for (Class<? extends Event> e : events) {
 			triggers.add(new NonNullPair<>(e, trigger));
 		}
+		clearEventTriggers();
 	}
 	
 	/**
@@ -202,6 +351,7 @@ public abstract class SkriptEventHandler {
 		int previousSize = triggers.size();
 		triggers.removeIf(pair -> script.equals(pair.getSecond().getScript()));
 		info.triggers += previousSize - triggers.size();
+		clearEventTriggers();
 		
 		for (int i = 0; i < selfRegisteredTriggers.size(); i++) {
 			Trigger t = selfRegisteredTriggers.get(i);
@@ -220,6 +370,7 @@ public abstract class SkriptEventHandler {
 	
 	static void removeAllTriggers() {
 		triggers.clear();
+		clearEventTriggers();
 		for (Trigger t : selfRegisteredTriggers)
 			((SelfRegisteringSkriptEvent) t.getEvent()).unregisterAll();
 		selfRegisteredTriggers.clear();
@@ -27,11 +27,15 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -51,6 +55,7 @@ import ch.njol.skript.localization.Message;
 import ch.njol.skript.localization.Noun;
 import ch.njol.skript.localization.RegexMessage;
 import ch.njol.skript.log.BlockingLogHandler;
+import ch.njol.skript.log.RetainingLogHandler;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.util.EnchantmentType;
 import ch.njol.skript.util.Utils;
@@ -468,15 +473,53 @@ public abstract class Aliases {
 	 * @throws IOException If something goes wrong with loading.
 	 */
 	public static void loadDirectory(Path dir) throws IOException {
+		List<Path> files = new ArrayList<>();
+		collectFiles(dir, files);
+		
+		// Reading files doesn't touch the aliases, so it can be done in parallel
+		// Log messages are retained and printed in order when the aliases are loaded
+		Config[] configs = new Config[files.size()];
+		RetainingLogHandler[] logs = new RetainingLogHandler[files.size()];
 		try {
-			Files.list(dir).sorted().forEach((f) -> {
+			IntStream.range(0, files.size()).parallel().forEach(i -> {
+				RetainingLogHandler log = SkriptLogger.startRetainingLog();
+				try {
+					configs[i] = new Config(files.get(i), false, false, "=");
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				} finally {
+					log.stop();
+				}
+				logs[i] = log;
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		
+		// Parsing aliases must happen in order, since later files may override earlier ones
+		for (int i = 0; i < configs.length; i++) {
+			logs[i].printLog();
+			load(configs[i]);
+		}
+	}
+	
+	/**
+	 * Collects alias files in given directory and its subdirectories, in the
+	 * order they should be loaded in.
+	 * @param dir Directory of aliases.
+	 * @param files List to add the files to.
+	 * @throws IOException If listing the directory fails.
+	 */
+	private static void collectFiles(Path dir, List<Path> files) throws IOException {
+		try (Stream<Path> list = Files.list(dir)) {
+			list.sorted().forEach((f) -> {
 				assert f != null;
 				try {
 					String name = f.getFileName().toString();
 					if (Files.isDirectory(f) && !name.startsWith("."))
-						loadDirectory(f);
+						collectFiles(f, files);
 					else if (name.endsWith(".sk"))
-						load(f);
+						files.add(f);
 				} catch (IOException e) {
 					throw new UncheckedIOException(e);
 				}
@@ -374,7 +374,9 @@ public class ItemData implements Cloneable, YggdrasilExtendedSerializable {
 		
 		// See if we need to compare item metas (excluding durability)
 		if (quality.isAtLeast(MatchQuality.SAME_ITEM)) { // Item meta checks could lower this
-			MatchQuality metaQuality = compareItemMetas(getItemMeta(), item.getItemMeta());
+			// Stacks without meta have default meta of their (shared) material, so don't copy metas to compare them
+			MatchQuality metaQuality = !stack.hasItemMeta() && !item.stack.hasItemMeta() ? MatchQuality.EXACT
+					: compareItemMetas(getItemMeta(), item.getItemMeta());
 			
 			// If given item doesn't care about meta, promote to SAME_ITEM
 			// I.e. we checked meta only to eliminate EXACT match
@@ -388,6 +390,24 @@ public class ItemData implements Cloneable, YggdrasilExtendedSerializable {
 		return quality;
 	}
 	
+	/**
+	 * Checks if this item is {@link #equals(Object) equal} to an item stack
+	 * of same material that has no item meta and is not a block. This item
+	 * must not have item meta either, since comparing metas requires an
+	 * ItemData for the stack. Then this gives same result as comparing
+	 * against <code>new ItemData(stack)</code>, but without creating it.
+	 * @return Whether a plain stack of this item's material matches this.
+	 */
+	boolean matchesPlainStack() {
+		if (isAnything)
+			return true;
+		assert !stack.hasItemMeta();
+		
+		// Plain stacks don't have block values, so ours must not matter
+		BlockValues values = blockValues;
+		return values == null || (isAlias && values.isDefault());
+	}
+	
 	/**
 	 * Checks if this item has given flag.
 	 * @param flag Flag found in {@link ItemFlags}.
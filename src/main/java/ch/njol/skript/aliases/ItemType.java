@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -132,6 +133,20 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	@Nullable
 	private ItemMeta globalMeta;
 	
+	/**
+	 * Materials of all ItemDatas of this type, used to reject items and blocks
+	 * without creating ItemDatas for them. Computed lazily and cleared whenever
+	 * {@link #types} changes.
+	 */
+	@Nullable
+	private transient EnumSet<Material> materials;
+	
+	/**
+	 * Whether one of the ItemDatas of this type represents anything.
+	 * Only valid when {@link #materials} is not null.
+	 */
+	private transient boolean hasAnything;
+	
 	void setItem(final @Nullable ItemType item) {
 		if (equals(item)) { // can happen if someone defines a 'x' and 'x item/block' alias that have the same value, e.g. 'dirt' and 'dirt block'
 			this.item = null;
@@ -207,6 +222,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 		for (final ItemData d : i) {
 			types.add(d.clone());
 		}
+		materials = null;
 	}
 
 	public ItemType(Block block) {
@@ -218,6 +234,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	 */
 	public void modified() {
 		item = block = null;
+		materials = null;
 	}
 	
 	/**
@@ -268,12 +285,34 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	public boolean isOfType(@Nullable ItemStack item) {
 		if (item == null)
 			return isOfType(Material.AIR, null);
+		Material type = item.getType();
+		if (!mayBeOfType(type))
+			return false;
+		
+		// Stacks without meta or block data can be matched without creating an ItemData for them,
+		// unless some of our items have meta that must be compared with the stack's
+		if (!type.isBlock() && !item.hasItemMeta()) {
+			boolean compareMeta = false;
+			for (ItemData myType : types) {
+				if (myType.type != type && !myType.isAnything)
+					continue;
+				if (!myType.isAnything && myType.stack.hasItemMeta()) {
+					compareMeta = true;
+				} else if (myType.matchesPlainStack()) {
+					return true;
+				}
+			}
+			if (!compareMeta)
+				return false;
+		}
 		return isOfType(new ItemData(item));
 	}
 	
 	public boolean isOfType(@Nullable BlockState block) {
 		if (block == null)
 			return isOfType(Material.AIR, null);
+		if (!mayBeOfType(ItemUtils.asItem(block.getType())))
+			return false;
 		
 		return isOfType(new ItemData(block));
 	}
@@ -281,10 +320,14 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	public boolean isOfType(@Nullable Block block) {
 		if (block == null)
 			return isOfType(Material.AIR, null);
+		if (!mayBeOfType(ItemUtils.asItem(block.getType())))
+			return false; // Don't bother getting the block state
 		return isOfType(block.getState());
 	}
 	
 	public boolean isOfType(ItemData type) {
+		if (!type.isAnything && !mayBeOfType(type.type))
+			return false;
 		for (final ItemData myType : types) {
 			if (myType.equals(type)) {
 				return true;
@@ -294,12 +337,52 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	}
 	
 	public boolean isOfType(Material id, @Nullable String tags) {
+		if (!mayBeOfType(id))
+			return false;
 		return isOfType(new ItemData(id, tags));
 	}
 	
 	public boolean isOfType(Material id) {
-		// TODO avoid object creation
-		return isOfType(new ItemData(id, null));
+		return isOfType(id, null);
+	}
+	
+	/**
+	 * Checks if an item or block of given material could possibly be of this
+	 * type. If this returns false, it definitely isn't.
+	 * @param type Material of the item or block.
+	 * @return Whether the material is one of the materials of this type.
+	 */
+	private boolean mayBeOfType(Material type) {
+		EnumSet<Material> materials = computeMaterials();
+		return hasAnything || materials.contains(type);
+	}
+	
+	/**
+	 * Gets materials of all items this type represents. Items and blocks
+	 * of other materials are never of this type.
+	 * @return The materials, or null if this type represents anything.
+	 */
+	@Nullable
+	public Set<Material> getMaterials() {
+		EnumSet<Material> materials = computeMaterials();
+		if (hasAnything)
+			return null;
+		return Collections.unmodifiableSet(materials);
+	}
+	
+	private EnumSet<Material> computeMaterials() {
+		EnumSet<Material> materials = this.materials;
+		if (materials == null) {
+			materials = EnumSet.noneOf(Material.class);
+			boolean anything = false;
+			for (ItemData d : types) {
+				materials.add(d.type);
+				anything |= d.isAnything;
+			}
+			hasAnything = anything;
+			this.materials = materials;
+		}
+		return materials;
 	}
 	
 	/**
@@ -655,7 +738,8 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 		int needed = getAmount();
 		int found = 0;
 		for (ItemStack item : items) {
-			if (item != null && new ItemType(item).isSimilar(this)) {
+			// Items of other materials can't be similar, so don't create item types for them
+			if (item != null && mayBeOfType(item.getType()) && new ItemType(item).isSimilar(this)) {
 				found += item.getAmount();
 				if (found >= needed) {
 					if (!all)
@@ -673,7 +757,8 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 		int needed = getAmount();
 		int found = 0;
 		for (ItemStack item : items) {
-			if (item != null && new ItemType(item).isSimilar(this)) {
+			// Items of other materials can't be similar, so don't create item types for them
+			if (item != null && mayBeOfType(item.getType()) && new ItemType(item).isSimilar(this)) {
 				found += item.getAmount();
 				if (found >= needed) {
 					if (!all)
@@ -708,13 +793,27 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	 */
 	public boolean removeFrom(Inventory invi) {
 		ItemStack[] buf = getCopiedContents(invi);
+		int[] amounts = getAmounts(buf);
 		
 		final boolean ok = removeFrom(Arrays.asList(buf));
 		
-		invi.setContents(buf);
+		// Items are only ever removed, so slots with same amounts weren't changed
+		for (int i = 0; i < buf.length; i++) {
+			if ((buf[i] == null ? 0 : buf[i].getAmount()) != amounts[i])
+				invi.setItem(i, buf[i]);
+		}
 		return ok;
 	}
 	
+	private static int[] getAmounts(ItemStack[] items) {
+		int[] amounts = new int[items.length];
+		for (int i = 0; i < items.length; i++) {
+			if (items[i] != null)
+				amounts[i] = items[i].getAmount();
+		}
+		return amounts;
+	}
+	
 	@SafeVarargs
 	public final boolean removeAll(List<ItemStack>... lists) {
 		final boolean wasAll = all;
@@ -757,10 +856,9 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 					 * it to return true for two "same items", even if their
 					 * item meta is completely different.
 					 */
-					ItemData other = is != null ? new ItemData(is) : null;
-					if (other == null) {
-						continue;
-					}
+					if (is == null || (!d.isAnything && is.getType() != d.type))
+						continue; // Items of other materials never match, don't create item data for them
+					ItemData other = new ItemData(is);
 					boolean plain = d.isPlain() != other.isPlain();
 					if (d.matchPlain(other) || other.matchAlias(d).isAtLeast(plain ? MatchQuality.EXACT : (d.isAlias() && !other.isAlias() ? MatchQuality.SAME_MATERIAL : MatchQuality.SAME_ITEM))) {
 						if (all && amount == -1) {
@@ -816,26 +914,18 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	public boolean addTo(final Inventory invi) {
 		// important: don't use inventory.add() - it ignores max stack sizes
 		ItemStack[] buf = invi.getContents();
-		
-		ItemStack[] tBuf = buf.clone();
-		if (invi instanceof PlayerInventory) {
-			buf = new ItemStack[36];
-			for(int i = 0; i < 36; ++i) {
-				buf[i] = tBuf[i];
-			}
-		}
+		if (invi instanceof PlayerInventory) // Don't add to armor or off hand
+			buf = Arrays.copyOf(buf, 36);
+		ItemStack[] oldBuf = buf.clone();
+		int[] amounts = getAmounts(buf);
 		
 		final boolean b = addTo(buf);
 		
-		if (invi instanceof PlayerInventory) {
-			buf = Arrays.copyOf(buf, tBuf.length);
-			for (int i = tBuf.length - 5; i < tBuf.length; ++i) {
-				buf[i] = tBuf[i];
-			}
+		// Only set slots that were filled or had their amounts changed
+		for (int i = 0; i < buf.length; i++) {
+			if (buf[i] != oldBuf[i] || (buf[i] != null && buf[i].getAmount() != amounts[i]))
+				invi.setItem(i, buf[i]);
 		}
-		
-		assert buf != null;
-		invi.setContents(buf);
 		return b;
 	}
 	
@@ -1064,6 +1154,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	@Override
 	public void deserialize(final Fields fields) throws StreamCorruptedException, NotSerializableException {
 		fields.setFields(this);
+		materials = null;
 		
 		// Legacy data (before aliases rework) update
 		if (!types.isEmpty()) {
@@ -21,12 +21,19 @@ package ch.njol.skript.bukkitutil;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.common.collect.ImmutableList;
@@ -63,6 +70,43 @@ public abstract class PlayerUtils {
 		};
 	}
 
+	/**
+	 * UUIDs of online players as strings, so that they're not recreated
+	 * each time a variable name containing a player is built.
+	 */
+	private static final Map<UUID, String> uuidStrings = new ConcurrentHashMap<>();
+
+	static {
+		Bukkit.getPluginManager().registerEvents(new Listener() {
+			@EventHandler(priority = EventPriority.MONITOR)
+			public void onQuit(PlayerQuitEvent e) {
+				Player player = e.getPlayer();
+				// Scripts may still use the player in this tick, so forget it only after that
+				Bukkit.getScheduler().runTask(Skript.getInstance(), () -> {
+					if (!player.isOnline())
+						uuidStrings.remove(player.getUniqueId());
+				});
+			}
+		}, Skript.getInstance());
+	}
+
+	/**
+	 * Gets the UUID of given player as a string. For online players, the
+	 * string is cached until they quit.
+	 * @param player The player.
+	 * @return UUID of the player as a string.
+	 */
+	public static String getUUIDString(Player player) {
+		UUID uuid = player.getUniqueId();
+		String uuidString = uuidStrings.get(uuid);
+		if (uuidString == null) {
+			uuidString = uuid.toString();
+			if (player.isOnline()) // Don't keep strings of players who have already quit
+				uuidStrings.put(uuid, uuidString);
+		}
+		return uuidString;
+	}
+
 	/**
 	 * @deprecated use {@link Bukkit#getOnlinePlayers()} instead
 	 */
@@ -0,0 +1,149 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.command;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.bukkit.entity.Player;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.lang.ParseContext;
+import ch.njol.skript.log.ParseLogHandler;
+import ch.njol.skript.log.SkriptLogger;
+import ch.njol.skript.registrations.Classes;
+
+/**
+ * Matches arguments of commands with simple patterns without going through
+ * {@link ch.njol.skript.lang.SkriptParser}. Supported patterns consist of lowercase
+ * words and single, mandatory arguments of a few common types, separated by
+ * single spaces, e.g. {@code give %player% %number%}. Texts are only supported
+ * as last argument, where they take the rest of the command.
+ * <p>
+ * Only input that is known to be parsed the same way as by the full parser is
+ * accepted. For anything else, including invalid arguments, matching fails and
+ * the command's arguments must be parsed normally, which also prints errors.
+ */
+final class CommandArgumentMatcher {
+	
+	private static final Pattern WORD = Pattern.compile("[a-z0-9_]+");
+	
+	/**
+	 * Words of the pattern, with arguments as null.
+	 */
+	private final String[] words;
+	
+	private final List<Argument<?>> arguments;
+	
+	private CommandArgumentMatcher(String[] words, List<Argument<?>> arguments) {
+		this.words = words;
+		this.arguments = arguments;
+	}
+	
+	/**
+	 * Creates a matcher for the given command pattern.
+	 * @param pattern Pattern of the command's arguments.
+	 * @param arguments Arguments of the command.
+	 * @return A matcher, or null if the pattern is not supported.
+	 */
+	@Nullable
+	static CommandArgumentMatcher compile(String pattern, List<Argument<?>> arguments) {
+		if (pattern.isEmpty())
+			return new CommandArgumentMatcher(new String[0], arguments);
+		String[] words = pattern.split(" ", -1);
+		int argument = 0;
+		for (int i = 0; i < words.length; i++) {
+			String word = words[i];
+			if (WORD.matcher(word).matches())
+				continue;
+			if (argument >= arguments.size())
+				return null;
+			Argument<?> arg = arguments.get(argument++);
+			if (!arg.isSingle() || arg.isOptional() || !isSupported(arg.getType(), i == words.length - 1))
+				return null;
+			ClassInfo<?> type = Classes.getExactClassInfo(arg.getType());
+			if (type == null || !word.equals("%" + type.getCodeName() + "%"))
+				return null;
+			words[i] = null;
+		}
+		if (argument != arguments.size())
+			return null;
+		return new CommandArgumentMatcher(words, arguments);
+	}
+	
+	private static boolean isSupported(Class<?> type, boolean last) {
+		return type == Number.class || type == Long.class || type == Player.class || (last && type == String.class);
+	}
+	
+	/**
+	 * Matches the given arguments and sets them for the event.
+	 * @param args Arguments given to the command.
+	 * @param event Event of the command.
+	 * @return Whether the arguments were matched. If not, they must be parsed normally.
+	 */
+	boolean match(String args, ScriptCommandEvent event) {
+		if (words.length == 0)
+			return args.isEmpty();
+		
+		List<Object[]> values = new ArrayList<>(arguments.size());
+		ParseLogHandler log = SkriptLogger.startParseLogHandler();
+		try {
+			int start = 0;
+			for (int i = 0; i < words.length; i++) {
+				if (start > args.length())
+					return false;
+				boolean last = i == words.length - 1;
+				int end = last ? args.length() : args.indexOf(' ', start);
+				if (end == -1)
+					return false;
+				String token = args.substring(start, end);
+				start = end + 1;
+				
+				String word = words[i];
+				if (word != null) {
+					if (!token.toLowerCase(Locale.ENGLISH).equals(word))
+						return false;
+					continue;
+				}
+				
+				// The full parser tries to parse the whole argument first too, unless it is in brackets
+				if (token.isEmpty() || token.startsWith("(") || token.startsWith("\"") || !token.trim().equals(token))
+					return false;
+				Object value = Classes.parse(token, arguments.get(values.size()).getType(), ParseContext.COMMAND);
+				if (value == null)
+					return false;
+				Object[] array = (Object[]) Array.newInstance(value.getClass(), 1);
+				array[0] = value;
+				values.add(array);
+			}
+		} finally {
+			log.clear();
+			log.stop();
+		}
+		
+		for (int i = 0; i < values.size(); i++)
+			arguments.get(i).set(event, values.get(i));
+		return true;
+	}
+	
+}
@@ -104,6 +104,8 @@ public class ScriptCommand implements TabExecutor {
 
 	private final String pattern;
 	private final List<Argument<?>> arguments;
+	@Nullable
+	private final CommandArgumentMatcher argumentMatcher;
 
 	public final static int PLAYERS = 0x1, CONSOLE = 0x2, BOTH = PLAYERS | CONSOLE;
 	final int executableBy;
@@ -161,6 +163,7 @@ public class ScriptCommand implements TabExecutor {
 
 		this.pattern = pattern;
 		this.arguments = arguments;
+		argumentMatcher = CommandArgumentMatcher.compile(pattern, arguments);
 
 		trigger = new Trigger(script, "command /" + name, new SimpleEvent(), items);
 
@@ -265,7 +268,9 @@ public class ScriptCommand implements TabExecutor {
 	boolean execute2(final ScriptCommandEvent event, final CommandSender sender, final String commandLabel, final String rest) {
 		final ParseLogHandler log = SkriptLogger.startParseLogHandler();
 		try {
-			final boolean ok = SkriptParser.parseArguments(rest, ScriptCommand.this, event);
+			final CommandArgumentMatcher matcher = argumentMatcher;
+			final boolean ok = matcher != null && matcher.match(rest, event)
+				|| SkriptParser.parseArguments(rest, ScriptCommand.this, event);
 			if (!ok) {
 				final LogEntry e = log.getError();
 				if (e != null)
@@ -0,0 +1,137 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.effects;
+
+import java.util.function.Consumer;
+
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.event.Event;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.aliases.ItemType;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Effect;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.timings.SkriptTimings;
+import ch.njol.skript.util.BlockChangeQueue;
+import ch.njol.skript.variables.Variables;
+import ch.njol.util.Kleenean;
+
+@Name("Gradually Set Blocks")
+@Description({"Sets large amounts of blocks over multiple ticks, instead of changing all of them at once. " +
+	"How much time can be spent on changing blocks each tick is set by 'gradual block change time limit' in the config. " +
+	"The script continues after all blocks have been changed, as if there had been a delay.",
+	"Physics updates can be skipped to make changing blocks faster, " +
+	"but this may leave blocks such as sand floating until they are updated."})
+@Examples({
+	"gradually set all blocks in radius 40 around {arena} to air",
+	"gradually set blocks within {pos1} and {pos2} to stone without physics",
+	"broadcast \"The arena has been reset!\""
+})
+@Since("INSERT VERSION")
+public class EffGraduallySetBlocks extends Effect {
+
+	static {
+		Skript.registerEffect(EffGraduallySetBlocks.class,
+			"gradually set %blocks% to %itemtype/blockdata% [physics:without (physics|block updates)]");
+	}
+
+	@SuppressWarnings("null")
+	private Expression<Block> blocks;
+
+	@SuppressWarnings("null")
+	private Expression<?> type;
+
+	private boolean applyPhysics;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
+		getParser().setHasDelayBefore(Kleenean.TRUE);
+		blocks = (Expression<Block>) exprs[0];
+		type = exprs[1];
+		applyPhysics = !parseResult.hasTag("physics");
+		return true;
+	}
+
+	@Override
+	@Nullable
+	protected TriggerItem walk(Event event) {
+		debug(event, true);
+		Object type = this.type.getSingle(event);
+		if (type == null)
+			return getNext();
+		Consumer<Block> change;
+		if (type instanceof ItemType) {
+			ItemType blockType = ((ItemType) type).getBlock();
+			change = block -> blockType.setBlock(block, applyPhysics);
+		} else {
+			BlockData data = (BlockData) type;
+			change = block -> block.setBlockData(data, applyPhysics);
+		}
+		Block[] blocks = this.blocks.getArray(event);
+		if (!Skript.getInstance().isEnabled()) // Can't schedule tasks, so nothing would be changed
+			return null;
+
+		Delay.addDelayedEvent(event); // Mark this event as delayed
+		Object localVars = Variables.removeLocals(event); // Back up local variables
+
+		BlockChangeQueue.queue(blocks, change, () -> {
+			TriggerItem next = getNext();
+			if (next == null)
+				return;
+			// Re-set local variables
+			if (localVars != null)
+				Variables.setLocalVariables(event, localVars);
+
+			Object timing = null;
+			if (SkriptTimings.enabled()) { // getTrigger call is not free, do it only if we must
+				Trigger trigger = getTrigger();
+				if (trigger != null)
+					timing = SkriptTimings.start(trigger.getDebugLabel());
+			}
+
+			TriggerItem.walk(next, event);
+			Variables.removeLocals(event); // Clean up local vars, we may be exiting now
+
+			SkriptTimings.stop(timing); // Stop timing if it was even started
+		});
+		return null;
+	}
+
+	@Override
+	protected void execute(Event event) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String toString(@Nullable Event event, boolean debug) {
+		return "gradually set " + blocks.toString(event, debug) + " to " + type.toString(event, debug) +
+			(applyPhysics ? "" : " without physics");
+	}
+
+}
@@ -112,33 +112,27 @@ public class EffMessage extends Effect {
 		for (Expression<?> message : getMessages()) {
 
 			Object[] messageArray = null;
-			List<MessageComponent> messageComponents = null;
+			BaseComponent[][] messageComponents = null; // Same for all players, so only created once
 
 			for (CommandSender receiver : commandSenders) {
-				if (receiver instanceof Player && message instanceof VariableString) {
-					if (messageComponents == null)
-						messageComponents = ((VariableString) message).getMessageComponents(e);
-				} else {
-					if (messageArray == null)
-						messageArray = message.getArray(e);
-				}
-
 				if (receiver instanceof Player) { // Can use JSON formatting
-					if (message instanceof VariableString) { // Process formatting that is safe
-						sendMessage((Player) receiver, sender,
-							BungeeConverter.convert(messageComponents)
-						);
-					} else if (message instanceof ExprColoured && ((ExprColoured) message).isUnsafeFormat()) { // Manually marked as trusted
-						for (Object object : messageArray) {
-							sendMessage((Player) receiver, sender, BungeeConverter.convert(ChatMessages.parse((String) object)));
-						}
-					} else { // It is just a string, no idea if it comes from a trusted source -> don't parse anything
-						for (Object object : messageArray) {
-							List<MessageComponent> components = ChatMessages.fromParsedString(toString(object));
-							sendMessage((Player) receiver, sender, BungeeConverter.convert(components));
+					if (messageComponents == null) {
+						if (message instanceof VariableString) { // Process formatting that is safe
+							messageComponents = new BaseComponent[][] {
+								BungeeConverter.convert(((VariableString) message).getMessageComponents(e))
+							};
+						} else {
+							if (messageArray == null)
+								messageArray = message.getArray(e);
+							messageComponents = toComponents(message, messageArray);
 						}
 					}
+
+					for (BaseComponent[] components : messageComponents)
+						sendMessage((Player) receiver, sender, components);
 				} else { // Not a player, send plain text with legacy formatting
+					if (messageArray == null)
+						messageArray = message.getArray(e);
 					for (Object object : messageArray) {
 						receiver.sendMessage(toString(object));
 					}
@@ -146,6 +140,21 @@ public class EffMessage extends Effect {
 			}
 		}
 	}
+
+	private BaseComponent[][] toComponents(Expression<?> message, Object[] messageArray) {
+		BaseComponent[][] messageComponents = new BaseComponent[messageArray.length][];
+		for (int i = 0; i < messageArray.length; i++) {
+			Object object = messageArray[i];
+			List<MessageComponent> components;
+			if (message instanceof ExprColoured && ((ExprColoured) message).isUnsafeFormat()) { // Manually marked as trusted
+				components = ChatMessages.parse((String) object);
+			} else { // It is just a string, no idea if it comes from a trusted source -> don't parse anything
+				components = ChatMessages.fromParsedString(toString(object));
+			}
+			messageComponents[i] = BungeeConverter.convert(components);
+		}
+		return messageComponents;
+	}
 	
 	private void sendMessage(Player receiver, @Nullable Player sender, BaseComponent... components) {
 		if (SUPPORTS_SENDER && sender != null)
@@ -109,7 +109,7 @@ public class EffReturn extends Effect {
 	protected TriggerItem walk(final Event e) {
 		debug(e, false);
 		if (e instanceof FunctionEvent) {
-			((ScriptFunction) function).setReturnValue(value.getArray(e));
+			((FunctionEvent) e).setReturnValue(value.getArray(e));
 		} else {
 			assert false : e;
 		}
@@ -132,6 +132,13 @@ public class EffReturn extends Effect {
 		assert false;
 	}
 	
+	/**
+	 * @return The expression whose values are returned.
+	 */
+	public Expression<?> getReturnValue() {
+		return value;
+	}
+	
 	@Override
 	public String toString(@Nullable Event e, boolean debug) {
 		return "return " + value.toString(e, debug);
@@ -58,7 +58,9 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -480,11 +482,15 @@ public abstract class EntityData<E extends Entity> implements SyntaxElement, Ygg
 		final List<E> list = new ArrayList<>();
 		if (worlds == null)
 			worlds = Bukkit.getWorlds().toArray(new World[0]);
+		// Only get entities of the given types from worlds, instead of every entity
+		final Class<?>[] classes = getTypes(types);
 		for (final World w : worlds) {
-			for (final E e : w.getEntitiesByClass(type)) {
+			for (final Entity e : w.getEntitiesByClasses(classes)) {
+				if (!type.isInstance(e)) // Types may include entities that aren't of the requested class
+					continue;
 				for (final EntityData<?> t : types) {
 					if (t.isInstance(e)) {
-						list.add(e);
+						list.add((E) e);
 						break;
 					}
 				}
@@ -493,6 +499,17 @@ public abstract class EntityData<E extends Entity> implements SyntaxElement, Ygg
 		return list.toArray((E[]) Array.newInstance(type, list.size()));
 	}
 	
+	/**
+	 * @param types
+	 * @return Distinct entity classes of the given types
+	 */
+	private static Class<?>[] getTypes(final EntityData<?>[] types) {
+		final Set<Class<?>> classes = new LinkedHashSet<>();
+		for (final EntityData<?> t : types)
+			classes.add(t.getType());
+		return classes.toArray(new Class<?>[0]);
+	}
+	
 	@SuppressWarnings("unchecked")
 	public static <E extends Entity> E[] getAll(final EntityData<?>[] types, final Class<E> type, Chunk[] chunks) {
 		assert types.length > 0;
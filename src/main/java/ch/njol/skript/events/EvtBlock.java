@@ -18,6 +18,10 @@
  */
 package ch.njol.skript.events;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.data.BlockData;
@@ -33,6 +37,7 @@ import org.bukkit.event.hanging.HangingEvent;
 import org.bukkit.event.hanging.HangingPlaceEvent;
 import org.bukkit.event.player.PlayerBucketEmptyEvent;
 import org.bukkit.event.player.PlayerBucketFillEvent;
+import org.bukkit.inventory.ItemStack;
 import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.Skript;
@@ -143,6 +148,43 @@ public class EvtBlock extends SkriptEvent {
 		});
 	}
 	
+	@Override
+	public Object @Nullable [] getEventKeys() {
+		if (types == null)
+			return null;
+		Set<Material> materials = new HashSet<>();
+		for (Object type : types.getAll()) {
+			if (type instanceof ItemType) {
+				Set<Material> itemMaterials = ((ItemType) type).getMaterials();
+				if (itemMaterials == null) // Represents anything
+					return null;
+				materials.addAll(itemMaterials);
+			} else if (type instanceof BlockData) {
+				materials.add(((BlockData) type).getMaterial());
+			} else {
+				return null;
+			}
+		}
+		return materials.toArray();
+	}
+	
+	@Override
+	@Nullable
+	public Object getEventKey(final Event e) {
+		if (e instanceof BlockFormEvent) {
+			return ((BlockFormEvent) e).getNewState().getType();
+		} else if (e instanceof BlockEvent) {
+			return ((BlockEvent) e).getBlock().getType();
+		} else if (e instanceof PlayerBucketFillEvent) {
+			PlayerBucketFillEvent playerBucketFillEvent = ((PlayerBucketFillEvent) e);
+			return playerBucketFillEvent.getBlockClicked().getRelative(playerBucketFillEvent.getBlockFace()).getType();
+		} else if (e instanceof PlayerBucketEmptyEvent) {
+			ItemStack itemStack = ((PlayerBucketEmptyEvent) e).getItemStack();
+			return itemStack != null ? itemStack.getType() : null;
+		}
+		return null; // Hanging entities are compared to items differently
+	}
+	
 	@Override
 	public String toString(final @Nullable Event e, final boolean debug) {
 		return "break/place/burn/fade/form of " + Classes.toString(types);
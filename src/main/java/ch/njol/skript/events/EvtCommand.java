@@ -61,15 +61,54 @@ public class EvtCommand extends SkriptEvent { // TODO condition to check whether
 	public boolean check(final Event e) {
 		if (command == null)
 			return true;
-		final String message;
+		final String message = getMessage(e);
+		return StringUtils.startsWithIgnoreCase(message, command)
+				&& (command.contains(" ") || message.length() == command.length() || Character.isWhitespace(message.charAt(command.length()))); // if only the command is given, match that command only
+	}
+	
+	@Override
+	public Object @Nullable [] getEventKeys() {
+		if (command == null)
+			return null;
+		final String label = getLabel(command);
+		return label != null ? new Object[] {label} : null;
+	}
+	
+	@Override
+	@Nullable
+	public Object getEventKey(final Event e) {
+		return getLabel(getMessage(e));
+	}
+	
+	private static String getMessage(final Event e) {
 		if (e instanceof PlayerCommandPreprocessEvent) {
 			assert ((PlayerCommandPreprocessEvent) e).getMessage().startsWith("/");
-			message = ((PlayerCommandPreprocessEvent) e).getMessage().substring(1);
+			return ((PlayerCommandPreprocessEvent) e).getMessage().substring(1);
 		} else {
-			message = ((ServerCommandEvent) e).getCommand();
+			return ((ServerCommandEvent) e).getCommand();
 		}
-		return StringUtils.startsWithIgnoreCase(message, command)
-				&& (command.contains(" ") || message.length() == command.length() || Character.isWhitespace(message.charAt(command.length()))); // if only the command is given, match that command only
+	}
+	
+	/**
+	 * Gets the first word of a command, with its characters converted so that
+	 * it is equal to first word of every command that starts with the given one
+	 * when case is ignored.
+	 * @param command The command, without slash.
+	 * @return The first word of the command, or null if it can't be converted.
+	 */
+	@Nullable
+	private static String getLabel(final String command) {
+		final StringBuilder label = new StringBuilder();
+		for (int i = 0; i < command.length(); i++) {
+			final char c = command.charAt(i);
+			if (Character.isWhitespace(c))
+				break;
+			if (Character.isSurrogate(c))
+				return null; // Case is not ignored character by character for these
+			// Same conversions that String#equalsIgnoreCase does
+			label.append(Character.toLowerCase(Character.toUpperCase(c)));
+		}
+		return label.toString();
 	}
 	
 	@Override
@@ -18,7 +18,11 @@
  */
 package ch.njol.skript.events;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import ch.njol.skript.sections.EffSecSpawn;
+import org.bukkit.Material;
 import org.bukkit.event.Event;
 import org.bukkit.event.block.BlockDispenseEvent;
 import org.bukkit.event.entity.EntityPickupItemEvent;
@@ -142,51 +146,75 @@ public class EvtItem extends SkriptEvent {
 			return false;
 		if (types == null)
 			return true;
-		final ItemStack is;
+		final ItemStack is = getItem(e);
+		if (is == null)
+			return false;
+
+		return types.check(e, new Checker<ItemType>() {
+			@Override
+			public boolean check(final ItemType t) {
+				return t.isOfType(is);
+			}
+		});
+	}
+	
+	@Override
+	public Object @Nullable [] getEventKeys() {
+		if (types == null)
+			return null;
+		Set<Material> materials = new HashSet<>();
+		for (ItemType type : types.getAll()) {
+			Set<Material> itemMaterials = type.getMaterials();
+			if (itemMaterials == null) // Represents anything
+				return null;
+			materials.addAll(itemMaterials);
+		}
+		return materials.toArray();
+	}
+	
+	@Override
+	@Nullable
+	public Object getEventKey(final Event e) {
+		if (e instanceof ItemSpawnEvent) // All triggers must see item spawns for 'last dropped item'
+			return null;
+		ItemStack is = getItem(e);
+		return is != null ? is.getType() : null;
+	}
+	
+	@Nullable
+	private ItemStack getItem(final Event e) {
 		if (e instanceof BlockDispenseEvent) {
-			is = ((BlockDispenseEvent) e).getItem();
+			return ((BlockDispenseEvent) e).getItem();
 		} else if (e instanceof ItemSpawnEvent) {
-			is = ((ItemSpawnEvent) e).getEntity().getItemStack();
+			return ((ItemSpawnEvent) e).getEntity().getItemStack();
 		} else if (e instanceof PlayerDropItemEvent) {
-			is = ((PlayerDropItemEvent) e).getItemDrop().getItemStack();
+			return ((PlayerDropItemEvent) e).getItemDrop().getItemStack();
 		} else if (e instanceof CraftItemEvent) {
-			is = ((CraftItemEvent) e).getRecipe().getResult();
+			return ((CraftItemEvent) e).getRecipe().getResult();
 		} else if (hasPrepareCraftEvent && e instanceof PrepareItemCraftEvent) {
 			PrepareItemCraftEvent event = (PrepareItemCraftEvent) e;
 			Recipe recipe = event.getRecipe();
-			if (recipe != null) {
-				is = recipe.getResult();
-			} else {
-				return false;
-			}
+			return recipe != null ? recipe.getResult() : null;
 		} else if (e instanceof EntityPickupItemEvent) {
-			is = ((EntityPickupItemEvent) e).getItem().getItemStack();
+			return ((EntityPickupItemEvent) e).getItem().getItemStack();
 		} else if (e instanceof PlayerPickupItemEvent) {
-			is = ((PlayerPickupItemEvent) e).getItem().getItemStack();
+			return ((PlayerPickupItemEvent) e).getItem().getItemStack();
 		} else if (hasConsumeEvent && e instanceof PlayerItemConsumeEvent) {
-			is = ((PlayerItemConsumeEvent) e).getItem();
+			return ((PlayerItemConsumeEvent) e).getItem();
 //		} else if (e instanceof BrewEvent)
 //			is = ((BrewEvent) e).getContents().getContents()
 		} else if (e instanceof InventoryClickEvent) {
-			is = ((InventoryClickEvent) e).getCurrentItem();
+			return ((InventoryClickEvent) e).getCurrentItem();
 		} else if (e instanceof ItemDespawnEvent) {
-			is = ((ItemDespawnEvent) e).getEntity().getItemStack();
+			return ((ItemDespawnEvent) e).getEntity().getItemStack();
 		} else if (e instanceof ItemMergeEvent) {
-			is = ((ItemMergeEvent) e).getTarget().getItemStack();
+			return ((ItemMergeEvent) e).getTarget().getItemStack();
 		} else {
 			assert false;
-			return false;
+			return null;
 		}
 
-		if (is == null)
-			return false;
 
-		return types.check(e, new Checker<ItemType>() {
-			@Override
-			public boolean check(final ItemType t) {
-				return t.isOfType(is);
-			}
-		});
 	}
 	
 	@Override
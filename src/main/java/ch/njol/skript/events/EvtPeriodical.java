@@ -18,12 +18,16 @@
  */
 package ch.njol.skript.events;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
 import ch.njol.skript.SkriptEventHandler;
 import ch.njol.skript.events.bukkit.ScheduledEvent;
 import ch.njol.skript.events.bukkit.ScheduledNoWorldEvent;
@@ -31,6 +35,7 @@ import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SelfRegisteringSkriptEvent;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.skript.util.Timespan;
 
 /**
@@ -66,6 +71,13 @@ public class EvtPeriodical extends SelfRegisteringSkriptEvent {
 	@Nullable
 	private transient World[] worlds;
 	
+	/**
+	 * How many periodical events without worlds have been registered for each
+	 * period in ticks. Used to spread them over their periods when
+	 * {@link SkriptConfig#staggerPeriodicalEvents} is enabled.
+	 */
+	private static final Map<Long, Integer> staggered = new ConcurrentHashMap<>();
+	
 //	@Nullable
 //	private String[] worldNames;
 	
@@ -91,7 +103,9 @@ public class EvtPeriodical extends SelfRegisteringSkriptEvent {
 		final ScheduledEvent e = w == null ? new ScheduledNoWorldEvent() : new ScheduledEvent(w);
 		SkriptEventHandler.logEventStart(e);
 		SkriptEventHandler.logTriggerStart(t);
+		Object timing = SkriptTimings.start(t.getDebugLabel());
 		t.execute(e);
+		SkriptTimings.stop(timing);
 		SkriptEventHandler.logTriggerEnd(t);
 		SkriptEventHandler.logEventEnd();
 	}
@@ -102,12 +116,19 @@ public class EvtPeriodical extends SelfRegisteringSkriptEvent {
 		this.t = t;
 		int[] taskIDs;
 		if (worlds == null) {
+			long delay = period.getTicks_i();
+			if (SkriptConfig.staggerPeriodicalEvents.value() && delay > 1) {
+				// Multiples of golden ratio are spread evenly, no matter how many events there are
+				int index = staggered.merge(delay, 1, Integer::sum) - 1;
+				double phase = (index * 0.6180339887498949) % 1;
+				delay = 1 + (long) (phase * delay);
+			}
 			taskIDs = new int[] {Bukkit.getScheduler().scheduleSyncRepeatingTask(Skript.getInstance(), new Runnable() {
 				@Override
 				public void run() {
 					execute(null);
 				}
-			}, period.getTicks_i(), period.getTicks_i())};
+			}, delay, period.getTicks_i())};
 		} else {
 			taskIDs = new int[worlds.length];
 			for (int i = 0; i < worlds.length; i++) {
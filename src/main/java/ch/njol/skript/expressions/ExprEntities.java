@@ -49,7 +49,6 @@ import ch.njol.skript.log.BlockingLogHandler;
 import ch.njol.skript.log.LogHandler;
 import ch.njol.util.Kleenean;
 import ch.njol.util.StringUtils;
-import ch.njol.util.coll.iterator.CheckedIterator;
 import ch.njol.util.coll.iterator.NonNullIterator;
 
 @Name("Entities")
@@ -168,14 +167,16 @@ public class ExprEntities extends SimpleExpression<Entity> {
 				return null;
 			double d = n.doubleValue();
 
-			if (l.getWorld() == null) // safety
+			World world = l.getWorld();
+			if (world == null) // safety
 				return null;
 
-			Collection<Entity> es = l.getWorld().getNearbyEntities(l, d, d, d);
 			double radiusSquared = d * d * Skript.EPSILON_MULT;
 			EntityData<?>[] ts = types.getAll(e);
-			return new CheckedIterator<>(es.iterator(), e1 -> {
-					if (e1 == null || e1.getLocation().distanceSquared(l) > radiusSquared)
+			Location entityLocation = new Location(world, 0, 0, 0); // Reused for every entity
+			// Filter while the world looks up entities, so only matching entities are collected
+			Collection<Entity> es = world.getNearbyEntities(l, d, d, d, e1 -> {
+					if (e1.getLocation(entityLocation).distanceSquared(l) > radiusSquared)
 						return false;
 					for (EntityData<?> t : ts) {
 						if (t.isInstance(e1))
@@ -183,6 +184,7 @@ public class ExprEntities extends SimpleExpression<Entity> {
 					}
 					return false;
 				});
+			return es.iterator();
 		} else {
 			if (chunks == null || returnType == Player.class)
 				return super.iterator(e);
@@ -21,10 +21,14 @@ package ch.njol.skript.hooks.regions;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
@@ -87,7 +91,33 @@ public abstract class RegionsPlugin<P extends Plugin> extends Hook<P> {
 	
 	public abstract Collection<? extends Region> getRegionsAt_i(Location l);
 	
+	/**
+	 * Regions at block positions that have been looked up during this tick.
+	 * Region plugins don't tell us when regions change, so this is cleared
+	 * every tick.
+	 */
+	private final static Map<Location, Set<Region>> regionsCache = new HashMap<>();
+	
+	/**
+	 * @param l
+	 * @return Regions at the given location. The returned set must not be modified.
+	 */
 	public static Set<? extends Region> getRegionsAt(final Location l) {
+		if (!Bukkit.isPrimaryThread() || !Skript.getInstance().isEnabled())
+			return findRegionsAt(l);
+		// All supported plugins have regions made of whole blocks
+		final Location block = new Location(l.getWorld(), l.getBlockX(), l.getBlockY(), l.getBlockZ());
+		Set<Region> r = regionsCache.get(block);
+		if (r == null) {
+			if (regionsCache.isEmpty())
+				Bukkit.getScheduler().runTask(Skript.getInstance(), regionsCache::clear);
+			r = Collections.unmodifiableSet(findRegionsAt(l));
+			regionsCache.put(block, r);
+		}
+		return r;
+	}
+	
+	private static Set<Region> findRegionsAt(final Location l) {
 		final Set<Region> r = new HashSet<>();
 		Iterator<RegionsPlugin<?>> it = plugins.iterator();
 		while (it.hasNext()) {
@@ -153,6 +153,10 @@ public class EvtRegionBorder extends SelfRegisteringSkriptEvent {
 			final Location to = e.getTo(), from = e.getFrom();
 			if (to != null && to.equals(from))
 				return;
+			// Regions are made of whole blocks, so they can't change if block doesn't change
+			if (to != null && to.getWorld() == from.getWorld() && to.getBlockX() == from.getBlockX()
+					&& to.getBlockY() == from.getBlockY() && to.getBlockZ() == from.getBlockZ())
+				return;
 			//if (to.getWorld().equals(from.getWorld()) && to.distanceSquared(from) < 2)
 			//	return;
 			final Set<? extends Region> oldRs = RegionsPlugin.getRegionsAt(from), newRs = RegionsPlugin.getRegionsAt(to);
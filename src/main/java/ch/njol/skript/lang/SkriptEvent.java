@@ -64,6 +64,37 @@ public abstract class SkriptEvent implements SyntaxElement, Debuggable {
 	 */
 	public abstract boolean check(Event e);
 
+	/**
+	 * Gets keys that an event must have for this event to apply to it, to be
+	 * compared with {@link #getEventKey(Event)}. Skript uses these to find
+	 * the triggers that may apply to an event without calling
+	 * {@link #check(Event)} of every trigger. For example, block events can
+	 * use materials of the blocks as keys.
+	 * <p>
+	 * If this returns keys, {@link #check(Event)} must return false for
+	 * events whose key is not null and not one of them.
+	 *
+	 * @return Keys of events this may apply to, or null if this may apply
+	 * to events regardless of their keys.
+	 */
+	public Object @Nullable [] getEventKeys() {
+		return null;
+	}
+
+	/**
+	 * Gets the key of given event, to be compared with {@link #getEventKeys()}.
+	 * This must not depend on the state of this object, since only one
+	 * instance of each SkriptEvent class is used to get keys of events.
+	 *
+	 * @param e The event.
+	 * @return Key of the event, or null if it cannot be determined, in which
+	 * case {@link #check(Event)} is called for all triggers of this event.
+	 */
+	@Nullable
+	public Object getEventKey(Event e) {
+		return null;
+	}
+
 	/**
 	 * Script loader checks this before loading items in event. If false is
 	 * returned, they are not parsed and the event is not registered.
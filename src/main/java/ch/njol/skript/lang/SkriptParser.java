@@ -82,6 +82,11 @@ public class SkriptParser {
 	
 	final String expr;
 	
+	/**
+	 * {@link #expr} in lower case, for matching it against many patterns.
+	 */
+	private final String lowerExpr;
+	
 	public final static int PARSE_EXPRESSIONS = 1;
 	public final static int PARSE_LITERALS = 2;
 	public final static int ALL_FLAGS = PARSE_EXPRESSIONS | PARSE_LITERALS;
@@ -110,6 +115,7 @@ public class SkriptParser {
 		assert expr != null;
 		assert (flags & ALL_FLAGS) != 0;
 		this.expr = "" + expr.trim();
+		this.lowerExpr = this.expr.toLowerCase(Locale.ENGLISH);
 		this.flags = flags;
 		this.context = context;
 	}
@@ -1250,6 +1256,10 @@ public class SkriptParser {
 		return i + 1;
 	}
 
+	/**
+	 * Compiled patterns. Results of matching them are not cached, because they also depend on the parser's state,
+	 * e.g. the current event, delays and options, and on the event values and converters that are registered.
+	 */
 	private static final Map<String, SkriptPattern> patterns = new HashMap<>();
 
 	@Nullable
@@ -1257,7 +1267,7 @@ public class SkriptParser {
 		if (i != 0 || j != 0)
 			throw new IllegalArgumentException();
 		SkriptPattern skriptPattern = patterns.computeIfAbsent(pattern, PatternCompiler::compile);
-		ch.njol.skript.patterns.MatchResult matchResult = skriptPattern.match(expr, flags, context);
+		ch.njol.skript.patterns.MatchResult matchResult = skriptPattern.match(expr, lowerExpr, flags, context);
 		if (matchResult == null)
 			return null;
 		return matchResult.toParseResult();
@@ -89,15 +89,8 @@ public abstract class TriggerItem implements Debuggable {
 				i = i.walk(e);
 			
 			return true;
-		} catch (final StackOverflowError err) {
-			final Trigger t = start.getTrigger();
-			final File sc = t == null ? null : t.getScript();
-			Skript.adminBroadcast("<red>The script '<gold>" + (sc == null ? "<unknown>" : sc.getName()) + "<red>' infinitely (or excessively) repeated itself!");
-			if (Skript.debug())
-				err.printStackTrace();
-		} catch (final Exception ex) {
-			if (ex.getStackTrace().length != 0) // empty exceptions have already been printed
-				Skript.exception(ex, i);
+		} catch (final StackOverflowError | Exception ex) {
+			handleError(ex, start, i);
 		} catch (Throwable throwable) {
 			// not all Throwables are Exceptions, but we usually don't want to catch them (without rethrowing)
 			Skript.markErrored();
@@ -106,6 +99,26 @@ public abstract class TriggerItem implements Debuggable {
 		return false;
 	}
 	
+	/**
+	 * Reports an error that occurred while executing trigger items, like {@link #walk(TriggerItem, Event)} does.
+	 * 
+	 * @param error A {@link StackOverflowError} or an {@link Exception}
+	 * @param start The item that execution was started from
+	 * @param item The item that was executed when the error occurred
+	 */
+	public static void handleError(final Throwable error, final TriggerItem start, final @Nullable TriggerItem item) {
+		assert error instanceof StackOverflowError || error instanceof Exception : error;
+		if (error instanceof StackOverflowError) {
+			final Trigger t = start.getTrigger();
+			final File sc = t == null ? null : t.getScript();
+			Skript.adminBroadcast("<red>The script '<gold>" + (sc == null ? "<unknown>" : sc.getName()) + "<red>' infinitely (or excessively) repeated itself!");
+			if (Skript.debug())
+				error.printStackTrace();
+		} else if (error.getStackTrace().length != 0) { // empty exceptions have already been printed
+			Skript.exception(error, item);
+		}
+	}
+	
 	/**
 	 * how much to indent each level
 	 */
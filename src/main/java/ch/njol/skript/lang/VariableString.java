@@ -71,6 +71,20 @@ public class VariableString implements Expression<String> {
 	 * been evaluated here.
 	 */
 	private final MessageComponent[] components;
+	
+	/**
+	 * Message components of a simple string, parsed when they are first needed.
+	 * These must be copied before being given out.
+	 */
+	@Nullable
+	private MessageComponent[] simpleComponents;
+	
+	/**
+	 * Length of the string this last rendered to, used to size the builder
+	 * when rendering again. Strings such as variable names usually have
+	 * about the same length every time.
+	 */
+	private int lastLength = 16;
 
 	/**
 	 * Creates a new VariableString which does not contain variables.
@@ -367,15 +381,7 @@ public class VariableString implements Expression<String> {
 
 		Object[] string = this.string;
 		assert string != null;
-		StringBuilder b = new StringBuilder();
-		for (Object o : string) {
-			if (o instanceof Expression<?>) {
-				b.append(Classes.toString(((Expression<?>) o).getArray(e), true, mode));
-			} else {
-				b.append(o);
-			}
-		}
-		return b.toString();
+		return render(string, e);
 	}
 	
 	/**
@@ -391,17 +397,46 @@ public class VariableString implements Expression<String> {
 		}
 		Object[] string = this.stringUnformatted;
 		assert string != null;
-		StringBuilder b = new StringBuilder();
+		return render(string, e);
+	}
+	
+	/**
+	 * Renders given string parts to a string, replacing expressions with
+	 * their values.
+	 * @param string String parts, either strings or expressions.
+	 * @param e Event to pass to the expressions.
+	 * @return The rendered string.
+	 */
+	private String render(Object[] string, Event e) {
+		StringBuilder b = new StringBuilder(lastLength);
 		for (Object o : string) {
 			if (o instanceof Expression<?>) {
-				b.append(Classes.toString(((Expression<?>) o).getArray(e), true, mode));
+				b.append(toString((Expression<?>) o, e));
 			} else {
-				b.append(o);
+				b.append((String) o);
 			}
 		}
+		lastLength = b.length();
 		return b.toString();
 	}
 	
+	/**
+	 * Converts value(s) of given expression to a string in mode of this string.
+	 * @param expr The expression.
+	 * @param e Event to pass to the expression.
+	 * @return String representation of the value(s).
+	 */
+	private String toString(Expression<?> expr, Event e) {
+		if (!expr.isSingle())
+			return Classes.toString(expr.getArray(e), true, mode);
+		
+		// Avoid creating an array for a single value
+		Object value = expr.getSingle(e);
+		if (value instanceof String && (mode == StringMode.MESSAGE || mode == StringMode.VARIABLE_NAME))
+			return (String) value; // Texts are never converted in these modes
+		return Classes.toString(value, mode);
+	}
+	
 	/**
 	 * Gets message components from this string. Formatting is parsed only
 	 * in simple parts for security reasons.
@@ -409,10 +444,8 @@ public class VariableString implements Expression<String> {
 	 * @return Message components.
 	 */
 	public List<MessageComponent> getMessageComponents(Event e) {
-		if (isSimple) { // Trusted, constant string in a script
-			assert simpleUnformatted != null;
-			return ChatMessages.parse(simpleUnformatted);
-		}
+		if (isSimple) // Trusted, constant string in a script
+			return getSimpleComponents();
 		
 		// Parse formating
 		Object[] string = this.stringUnformatted;
@@ -433,13 +466,13 @@ public class VariableString implements Expression<String> {
 				// Convert it to plain text
 				String text = null;
 				if (o instanceof ExprColoured && ((ExprColoured) o).isUnsafeFormat()) { // Special case: user wants to process formatting
-					String unformatted = Classes.toString(((ExprColoured) o).getArray(e), true, mode);
+					String unformatted = toString((ExprColoured) o, e);
 					if (unformatted != null) {
 						message.addAll(ChatMessages.parse(unformatted));
 					}
 					continue;
 				} else if (o instanceof Expression<?>) {
-					text = Classes.toString(((Expression<?>) o).getArray(e), true, mode);
+					text = toString((Expression<?>) o, e);
 				}
 				
 				assert text != null;
@@ -474,12 +507,29 @@ public class VariableString implements Expression<String> {
 	 * @return Message components.
 	 */
 	public List<MessageComponent> getMessageComponentsUnsafe(Event e) {
-		if (isSimple) { // Trusted, constant string in a script
+		if (isSimple) // Trusted, constant string in a script
+			return getSimpleComponents();
+		
+		return ChatMessages.parse(toUnformattedString(e));
+	}
+	
+	/**
+	 * Gets message components of a simple string. The string is parsed only
+	 * once, and copies of the parsed components are returned.
+	 * @return Message components.
+	 */
+	private List<MessageComponent> getSimpleComponents() {
+		MessageComponent[] simpleComponents = this.simpleComponents;
+		if (simpleComponents == null) {
 			assert simpleUnformatted != null;
-			return ChatMessages.parse(simpleUnformatted);
+			simpleComponents = ChatMessages.parseToArray(simpleUnformatted);
+			this.simpleComponents = simpleComponents;
 		}
 		
-		return ChatMessages.parse(toUnformattedString(e));
+		List<MessageComponent> message = new ArrayList<>(simpleComponents.length);
+		for (MessageComponent component : simpleComponents)
+			message.add(component.copy());
+		return message;
 	}
 	
 	/**
@@ -0,0 +1,132 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang.function;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.registrations.Classes;
+
+/**
+ * Results of a function that was declared as {@code cached}, keyed by its
+ * arguments. Only a limited amount of most recently used results is kept,
+ * and results may also expire after a configured time.
+ * <p>
+ * A new cache is created whenever the function is loaded, so reloading
+ * the function's script clears its results.
+ */
+public final class FunctionCache<T> {
+	
+	private static final AtomicLong hits = new AtomicLong(), misses = new AtomicLong();
+	
+	private static final class Result<T> {
+		
+		@Nullable
+		final T[] value;
+		final long time;
+		
+		Result(@Nullable T[] value, long time) {
+			this.value = value;
+			this.time = time;
+		}
+		
+	}
+	
+	private final Map<List<List<Object>>, Result<T>> results;
+	
+	/**
+	 * Lifetime of results in milliseconds, or 0 if they don't expire.
+	 */
+	private final long lifetime;
+	
+	public FunctionCache(int size, long lifetime) {
+		this.lifetime = lifetime;
+		results = new LinkedHashMap<List<List<Object>>, Result<T>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<List<List<Object>>, Result<T>> eldest) {
+				return size() > size;
+			}
+		};
+	}
+	
+	/**
+	 * Gets the cached result for given arguments, or calls the function and
+	 * caches its result if there is none. The function is not called while
+	 * holding a lock, so that it may call itself or be called concurrently.
+	 * @param params Arguments of the function.
+	 * @param function Calls the function with given arguments.
+	 * @return Copy of the result, which the caller may modify.
+	 */
+	@Nullable
+	public T[] get(Object[][] params, java.util.function.Function<Object[][], T[]> function) {
+		// Arguments are cloned, as they may be shared with the caller or modified by the function
+		List<List<Object>> key = new ArrayList<>(params.length);
+		for (Object[] param : params)
+			key.add(Arrays.asList((Object[]) Classes.clone(param)));
+		long now = System.currentTimeMillis();
+		
+		Result<T> result;
+		synchronized (results) {
+			result = results.get(key);
+		}
+		if (result != null && (lifetime == 0 || now - result.time < lifetime)) {
+			hits.incrementAndGet();
+			return copy(result.value);
+		}
+		misses.incrementAndGet();
+		
+		T[] value = function.apply(params);
+		result = new Result<>(copy(value), now);
+		synchronized (results) {
+			results.put(key, result);
+		}
+		return value;
+	}
+	
+	/**
+	 * Copies the array and clones its values, so that a cached result can't
+	 * be modified by callers.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private static <T> T[] copy(@Nullable T[] value) {
+		return value == null ? null : (T[]) Classes.clone(value);
+	}
+	
+	/**
+	 * @return How many times a result was found in caches of all functions.
+	 */
+	public static long getHits() {
+		return hits.get();
+	}
+	
+	/**
+	 * @return How many times caches of all functions had no result and the function was called.
+	 */
+	public static long getMisses() {
+		return misses.get();
+	}
+	
+}
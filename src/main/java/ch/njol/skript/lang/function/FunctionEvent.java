@@ -20,6 +20,7 @@ package ch.njol.skript.lang.function;
 
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
+import org.eclipse.jdt.annotation.Nullable;
 
 public final class FunctionEvent<T> extends Event {
 	
@@ -28,6 +29,15 @@ public final class FunctionEvent<T> extends Event {
 	
 	private final Function<? extends T> function;
 	
+	/**
+	 * Value returned by this call of the function. Kept here instead of in
+	 * the function so that concurrent and recursive calls don't share it.
+	 */
+	@Nullable
+	private T[] returnValue;
+	
+	private boolean returnValueSet;
+	
 	public FunctionEvent(Function<? extends T> function) {
 		this.function = function;
 	}
@@ -36,6 +46,20 @@ public final class FunctionEvent<T> extends Event {
 		return function;
 	}
 	
+	/**
+	 * Should only be called by {@link ch.njol.skript.effects.EffReturn}.
+	 */
+	public void setReturnValue(@Nullable T[] value) {
+		assert !returnValueSet;
+		returnValueSet = true;
+		returnValue = value;
+	}
+	
+	@Nullable
+	public T[] getReturnValue() {
+		return returnValue;
+	}
+	
 	@Override
 	public HandlerList getHandlers() {
 		return handlers;
@@ -26,6 +26,7 @@ import ch.njol.skript.config.Node;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.SkriptParser;
 import ch.njol.skript.lang.UnparsedLiteral;
+import ch.njol.skript.lang.Variable;
 import ch.njol.skript.log.RetainingLogHandler;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.registrations.Classes;
@@ -248,6 +249,42 @@ public class FunctionReference<T> {
 		return true;
 	}
 
+	/**
+	 * Links this reference to a new signature that {@link Signature#matches(Signature) matches}
+	 * the one it was validated against, without validating it again.
+	 * @param sign New signature of the referenced function.
+	 */
+	@SuppressWarnings("unchecked")
+	void relink(Signature<?> sign) {
+		function = null; // Acquired again on next call
+		signature = (Signature<? extends T>) sign;
+		sign.calls.add(this);
+	}
+	
+	/**
+	 * Clones the given values so that they can't be mutated across function
+	 * boundary; same hack is applied to variables. Values are always cloned,
+	 * but if the array is known to be new, it is only copied if any of its
+	 * values is actually cloned, since most values are immutable.
+	 * @param values Values of a parameter, which must not be modified.
+	 * @param copyRequired Whether the array must be copied anyway, because it
+	 * may be shared with the expression it came from, e.g. the internal array
+	 * of a literal or an expression that caches its values.
+	 * @return The values, or a copy with cloned values.
+	 */
+	private static Object[] cloneValues(Object[] values, boolean copyRequired) {
+		Object[] copy = copyRequired ? Arrays.copyOf(values, values.length) : null;
+		for (int i = 0; i < values.length; i++) {
+			Object clone = Classes.clone(values[i]);
+			if (clone != values[i]) {
+				if (copy == null)
+					copy = Arrays.copyOf(values, values.length);
+				copy[i] = clone;
+			}
+		}
+		return copy != null ? copy : values;
+	}
+	
 	@Nullable
 	public Function<? extends T> getFunction() {
 		return function;
@@ -278,21 +315,17 @@ public class FunctionReference<T> {
 			List<Object> l = new ArrayList<>();
 			for (Expression<?> parameter : parameters)
 				l.addAll(Arrays.asList(parameter.getArray(e)));
-			params[0] = l.toArray();
+			Object[] array = l.toArray();
 			
 			// Don't allow mutating across function boundary; same hack is applied to variables
-			for (int i = 0; i < params[0].length; i++) {
-				params[0][i] = Classes.clone(params[0][i]);
+			for (int i = 0; i < array.length; i++) {
+				array[i] = Classes.clone(array[i]);
 			}
+			params[0] = array;
 		} else { // Use parameters in normal way
-			for (int i = 0; i < parameters.length; i++) {
-				Object[] array = parameters[i].getArray(e);
-				params[i] = Arrays.copyOf(array, array.length);
-				// Don't allow mutating across function boundary; same hack is applied to variables
-				for (int j = 0; j < params[i].length; j++) {
-					params[i][j] = Classes.clone(params[i][j]);
-				}
-			}
+			for (int i = 0; i < parameters.length; i++)
+				// Variables create a new array on every call, other expressions might return a shared one
+				params[i] = cloneValues(parameters[i].getArray(e), !(parameters[i] instanceof Variable));
 		}
 		
 		// Execute the function
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -102,9 +103,19 @@ public abstract class Functions {
 	public final static String functionNamePattern = "[\\p{IsAlphabetic}][\\p{IsAlphabetic}\\p{IsDigit}_]*";
 	
 	@SuppressWarnings("null")
-	private final static Pattern functionPattern = Pattern.compile("function (" + functionNamePattern + ")\\((.*)\\)(?: :: (.+))?", Pattern.CASE_INSENSITIVE),
+	private final static Pattern functionPattern = Pattern.compile("(cached )?function (" + functionNamePattern + ")\\((.*)\\)(?: :: (.+))?", Pattern.CASE_INSENSITIVE),
 			paramPattern = Pattern.compile("\\s*(.+?)\\s*:(?=[^:]*$)\\s*(.+?)(?:\\s*=\\s*(.+))?\\s*");
 	
+	/**
+	 * Checks whether the given key of a section node starts a function definition.
+	 * @param key Key of a section node, with options replaced.
+	 * @return Whether the section defines a function.
+	 */
+	public static boolean isFunctionDefinition(String key) {
+		String lower = key.toLowerCase(Locale.ENGLISH);
+		return lower.startsWith("function ") || lower.startsWith("cached function ");
+	}
+	
 	/**
 	 * Loads a script function from given node.
 	 * @param node Section node.
@@ -119,7 +130,7 @@ public abstract class Functions {
 		Matcher m = functionPattern.matcher(definition);
 		if (!m.matches()) // We have checks when loading the signature, but matches() must be called anyway
 			return null; // don't error, already done in signature loading
-		String name = "" + m.group(1);
+		String name = "" + m.group(2);
 		
 		Namespace namespace = globalFunctions.get(name);
 		if (namespace == null) {
@@ -132,7 +143,7 @@ public abstract class Functions {
 		ClassInfo<?> c = sign.returnType;
 		
 		if (Skript.debug() || node.debug())
-			Skript.debug("function " + name + "(" + StringUtils.join(params, ", ") + ")"
+			Skript.debug((sign.isCached() ? "cached " : "") + "function " + name + "(" + StringUtils.join(params, ", ") + ")"
 				+ (c != null ? " :: " + (sign.isSingle() ? c.getName().getSingular() : c.getName().getPlural()) : "") + ":");
 		
 		Function<?> f = new ScriptFunction<>(sign, node);
@@ -157,7 +168,7 @@ public abstract class Functions {
 		Matcher m = functionPattern.matcher(definition);
 		if (!m.matches())
 			return signError(INVALID_FUNCTION_DEFINITION);
-		String name = "" + m.group(1);
+		String name = "" + m.group(2);
 		
 		// Ensure there are no duplicate functions
 		if (globalFunctions.containsKey(name)) {
@@ -171,8 +182,9 @@ public abstract class Functions {
 			}
 		}
 		
-		String args = m.group(2);
-		String returnType = m.group(3);
+		boolean cached = m.group(1) != null;
+		String args = m.group(3);
+		String returnType = m.group(4);
 		List<Parameter<?>> params = new ArrayList<>();
 		int j = 0;
 		for (int i = 0; i <= args.length(); i = SkriptParser.next(args, i, ParseContext.DEFAULT)) {
@@ -217,6 +229,8 @@ public abstract class Functions {
 		ClassInfo<?> returnClass;
 		boolean singleReturn;
 		if (returnType == null) {
+			if (cached)
+				return signError("Only functions that return a value can be cached");
 			returnClass = null;
 			singleReturn = false; // Ignored, nothing is returned
 		} else {
@@ -232,7 +246,7 @@ public abstract class Functions {
 		
 		@SuppressWarnings({"unchecked", "null"})
 		Signature<?> sign = new Signature<>(script, name,
-			params.toArray(new Parameter[0]), (ClassInfo<Object>) returnClass, singleReturn);
+			params.toArray(new Parameter[0]), (ClassInfo<Object>) returnClass, singleReturn, cached);
 
 		// Register this signature
 		Namespace.Key namespaceKey = new Namespace.Key(Namespace.Origin.SCRIPT, script);
@@ -296,7 +310,11 @@ public abstract class Functions {
 		return namespace.getSignature(name);
 	}
 	
-	private final static Collection<FunctionReference<?>> toValidate = new ArrayList<>();
+	/**
+	 * References from other scripts to removed functions, mapped to the
+	 * signature they were validated against.
+	 */
+	private final static Map<FunctionReference<?>, Signature<?>> toValidate = new LinkedHashMap<>();
 	
 	/**
 	 * Remember to call {@link #validateFunctions()} after calling this
@@ -318,16 +336,28 @@ public abstract class Functions {
 		for (Signature<?> sign : namespace.getSignatures()) {
 			for (FunctionReference<?> ref : sign.calls) {
 				if (!script.equals(ref.script)) {
-					toValidate.add(ref);
+					toValidate.put(ref, sign);
 				}
 			}
 		}
 		return namespace.getSignatures().size();
 	}
 	
+	/**
+	 * Revalidates references to functions that were removed since last call.
+	 * References to functions that were redefined with a matching signature
+	 * are only linked to the new signature.
+	 */
 	public static void validateFunctions() {
-		for (FunctionReference<?> c : toValidate)
-			c.validateFunction(false);
+		for (Map.Entry<FunctionReference<?>, Signature<?>> e : toValidate.entrySet()) {
+			FunctionReference<?> ref = e.getKey();
+			Signature<?> sign = getSignature(ref.functionName);
+			if (sign != null && sign.matches(e.getValue())) {
+				ref.relink(sign);
+			} else {
+				ref.validateFunction(false);
+			}
+		}
 		toValidate.clear();
 	}
 	
@@ -18,12 +18,17 @@
  */
 package ch.njol.skript.lang.function;
 
+import java.util.List;
+
 import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.ScriptLoader;
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
 import ch.njol.skript.config.SectionNode;
 import ch.njol.skript.effects.EffReturn;
 import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.lang.TriggerItem;
 import ch.njol.skript.lang.util.SimpleEvent;
 import ch.njol.skript.variables.Variables;
 
@@ -34,34 +39,38 @@ public class ScriptFunction<T> extends Function<T> {
 	
 	private final Trigger trigger;
 	
+	/**
+	 * The return statement if the function only consists of it.
+	 * Such functions are executed by evaluating the returned expression directly.
+	 */
+	@Nullable
+	private final EffReturn returnStatement;
+	
+	@Nullable
+	private final FunctionCache<T> cache;
+	
 	public ScriptFunction(Signature<T> sign, SectionNode node) {
 		super(sign);
 		
 		Functions.currentFunction = this;
+		List<TriggerItem> items;
 		try {
+			items = ScriptLoader.loadItems(node);
 			trigger = new Trigger(
 				node.getConfig().getFile(),
 				"function " + sign.getName(),
 				new SimpleEvent(),
-				ScriptLoader.loadItems(node)
+				items
 			);
 			trigger.setLineNumber(node.getLine());
 		} finally {
 			Functions.currentFunction = null;
 		}
-	}
-	
-	private boolean returnValueSet = false;
-	@Nullable
-	private T[] returnValue = null;
-	
-	/**
-	 * Should only be called by {@link EffReturn}.
-	 */
-	public final void setReturnValue(final @Nullable T[] value) {
-		assert !returnValueSet;
-		returnValueSet = true;
-		returnValue = value;
+		
+		returnStatement = items.size() == 1 && items.get(0) instanceof EffReturn ? (EffReturn) items.get(0) : null;
+		
+		cache = sign.isCached() ? new FunctionCache<>(SkriptConfig.functionCacheSize.value(),
+			SkriptConfig.functionCacheLifetime.value().getMilliSeconds()) : null;
 	}
 	
 	// REMIND track possible types of local variables (including undefined variables) (consider functions, commands, and EffChange) - maybe make a general interface for this purpose
@@ -69,6 +78,15 @@ public class ScriptFunction<T> extends Function<T> {
 	@Override
 	@Nullable
 	public T[] execute(final FunctionEvent<?> e, final Object[][] params) {
+		FunctionCache<T> cache = this.cache;
+		if (cache != null)
+			return cache.get(params, ps -> executeTrigger(e, ps));
+		return executeTrigger(e, params);
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private T[] executeTrigger(FunctionEvent<?> e, Object[][] params) {
 		Parameter<?>[] parameters = getSignature().getParameters();
 		for (int i = 0; i < parameters.length; i++) {
 			Parameter<?> p = parameters[i];
@@ -82,15 +100,28 @@ public class ScriptFunction<T> extends Function<T> {
 			}
 		}
 		
+		EffReturn returnStatement = this.returnStatement;
+		if (returnStatement != null && !Skript.debug()) { // Debug output is printed when walking the trigger
+			try {
+				return (T[]) returnStatement.getReturnValue().getArray(e);
+			} catch (StackOverflowError | Exception ex) { // Same handling as when walking the trigger
+				TriggerItem.handleError(ex, trigger, returnStatement);
+				return null;
+			} catch (Throwable throwable) {
+				Skript.markErrored();
+				throw throwable;
+			} finally {
+				Variables.removeLocals(e);
+			}
+		}
+		
 		trigger.execute(e);
-		return returnValue;
+		return (T[]) e.getReturnValue();
 	}
 
 	@Override
 	public boolean resetReturnValue() {
-		returnValue = null;
-		returnValueSet = false;
-		return true;
+		return true; // Return values are stored in the function event of each call
 	}
 
 }
@@ -59,17 +59,27 @@ public class Signature<T> {
 	 */
 	final boolean single;
 	
+	/**
+	 * Whether results of this function are cached by its arguments.
+	 */
+	final boolean cached;
+	
 	/**
 	 * References (function calls) to function with this signature.
 	 */
 	final Collection<FunctionReference<?>> calls;
 	
 	public Signature(String script, String name, Parameter<?>[] parameters, @Nullable final ClassInfo<T> returnType, boolean single) {
+		this(script, name, parameters, returnType, single, false);
+	}
+	
+	public Signature(String script, String name, Parameter<?>[] parameters, @Nullable final ClassInfo<T> returnType, boolean single, boolean cached) {
 		this.script = script;
 		this.name = name;
 		this.parameters = parameters;
 		this.returnType = returnType;
 		this.single = single;
+		this.cached = cached;
 		
 		calls = Collections.newSetFromMap(new WeakHashMap<>());
 	}
@@ -96,6 +106,10 @@ public class Signature<T> {
 		return single;
 	}
 	
+	public boolean isCached() {
+		return cached;
+	}
+	
 	/**
 	 * Gets maximum number of parameters that the function described by this
 	 * signature is able to take.
@@ -119,6 +133,26 @@ public class Signature<T> {
 		return 0; // No-args function
 	}
 	
+	/**
+	 * Checks whether the given signature takes the same parameters and
+	 * returns the same type as this one. Function calls that were validated
+	 * against one of them are then valid for the other one as well.
+	 * @param other Another signature.
+	 * @return Whether calls can use the other signature without revalidation.
+	 */
+	public boolean matches(Signature<?> other) {
+		if (returnType != other.returnType || (returnType != null && single != other.single))
+			return false;
+		if (parameters.length != other.parameters.length)
+			return false;
+		for (int i = 0; i < parameters.length; i++) {
+			Parameter<?> p = parameters[i], o = other.parameters[i];
+			if (p.type != o.type || p.single != o.single || (p.def == null) != (o.def == null))
+				return false;
+		}
+		return true;
+	}
+	
 	@Override
 	public int hashCode() {
 		return name.hashCode();
@@ -42,8 +42,16 @@ public class SkriptPattern {
 
 	@Nullable
 	public MatchResult match(String expr, int flags, ParseContext parseContext) {
+		return match(expr, expr.toLowerCase(Locale.ENGLISH), flags, parseContext);
+	}
+
+	/**
+	 * Same as {@link #match(String, int, ParseContext)}, but with the expression also given in lower case,
+	 * so that it doesn't have to be converted for every pattern it is matched against.
+	 */
+	@Nullable
+	public MatchResult match(String expr, String lowerExpr, int flags, ParseContext parseContext) {
 		// Matching shortcut
-		String lowerExpr = expr.toLowerCase(Locale.ENGLISH);
 		for (String keyword : keywords)
 			if (!lowerExpr.contains(keyword))
 				return null;
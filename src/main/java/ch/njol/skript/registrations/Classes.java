@@ -34,7 +34,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.bukkit.Bukkit;
@@ -81,6 +84,13 @@ public abstract class Classes {
 	private final static HashMap<Class<?>, ClassInfo<?>> superClassInfos = new HashMap<>();
 	private final static HashMap<String, ClassInfo<?>> classInfosByCodeName = new HashMap<>();
 	
+	/**
+	 * Caches the class info used to convert instances of a class to strings,
+	 * i.e. the first class info with a parser that the class is a subclass of.
+	 * Concurrent, since objects are converted to strings from other threads too.
+	 */
+	private final static Map<Class<?>, Optional<ClassInfo<?>>> parserClassInfos = new ConcurrentHashMap<>();
+	
 	/**
 	 * @param info info about the class to register
 	 */
@@ -612,19 +622,43 @@ public abstract class Classes {
 			}
 			return "[" + b.toString() + "]";
 		}
-		for (final ClassInfo<?> ci : getClassInfos()) {
+		final ClassInfo<?> ci = getParserClassInfo(o.getClass());
+		if (ci != null) {
 			final Parser<?> parser = ci.getParser();
-			if (parser != null && ci.getC().isInstance(o)) {
-				@SuppressWarnings("unchecked")
-				final String s = mode == StringMode.MESSAGE ? ((Parser<T>) parser).toString(o, flags)
-						: mode == StringMode.DEBUG ? "[" + ci.getCodeName() + ":" + ((Parser<T>) parser).toString(o, mode) + "]"
-								: ((Parser<T>) parser).toString(o, mode);
-				return s;
-			}
+			assert parser != null;
+			@SuppressWarnings("unchecked")
+			final String s = mode == StringMode.MESSAGE ? ((Parser<T>) parser).toString(o, flags)
+					: mode == StringMode.DEBUG ? "[" + ci.getCodeName() + ":" + ((Parser<T>) parser).toString(o, mode) + "]"
+							: ((Parser<T>) parser).toString(o, mode);
+			return s;
 		}
 		return mode == StringMode.VARIABLE_NAME ? "object:" + o : "" + o;
 	}
 	
+	/**
+	 * Gets the class info that is used to convert instances of given class
+	 * to strings.
+	 * @param c The class.
+	 * @return First class info (in sorted order) that has a parser and that
+	 * the given class is a subclass of, or null if there is no such class info.
+	 */
+	@Nullable
+	private static ClassInfo<?> getParserClassInfo(final Class<?> c) {
+		final Optional<ClassInfo<?>> cached = parserClassInfos.get(c);
+		if (cached != null)
+			return cached.orElse(null);
+		ClassInfo<?> found = null;
+		for (final ClassInfo<?> ci : getClassInfos()) {
+			if (ci.getParser() != null && ci.getC().isAssignableFrom(c)) {
+				found = ci;
+				break;
+			}
+		}
+		if (classInfos != null) // Class infos are final after they have been sorted
+			parserClassInfos.put(c, Optional.ofNullable(found));
+		return found;
+	}
+	
 	public static String toString(final Object[] os, final int flags, final boolean and) {
 		return toString(os, and, null, StringMode.MESSAGE, flags);
 	}
@@ -60,7 +60,7 @@ public abstract class AsyncEffect extends Effect {
 			execute(e); // Execute this effect
 			
 			if (getNext() != null) {
-				Bukkit.getScheduler().runTask(Skript.getInstance(), () -> { // Walk to next item synchronously
+				MainThreadExecutor.execute(() -> { // Walk to next item synchronously
 					Object timing = null;
 					if (SkriptTimings.enabled()) { // getTrigger call is not free, do it only if we must
 						Trigger trigger = getTrigger();
@@ -0,0 +1,119 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.block.Block;
+import org.bukkit.scheduler.BukkitTask;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+
+/**
+ * Changes large amounts of blocks over multiple ticks. Blocks are changed
+ * chunk by chunk, and no more than
+ * {@link SkriptConfig#gradualBlockChangeTimeLimit} milliseconds are spent on
+ * changing blocks each tick. Changes are done in the order they were queued.
+ */
+public class BlockChangeQueue {
+	
+	/**
+	 * Orders blocks so that blocks in the same chunk are next to each other.
+	 */
+	private static final Comparator<Block> CHUNK_ORDER = Comparator
+		.comparing((Block block) -> block.getWorld().getUID())
+		.thenComparingInt(block -> block.getX() >> 4)
+		.thenComparingInt(block -> block.getZ() >> 4);
+	
+	private static final Deque<BlockChangeQueue> queue = new ArrayDeque<>();
+	
+	@Nullable
+	private static BukkitTask task;
+	
+	private final Block[] blocks;
+	private final Consumer<Block> change;
+	private final Runnable onComplete;
+	
+	/**
+	 * Index of next block to change.
+	 */
+	private int next;
+	
+	private BlockChangeQueue(Block[] blocks, Consumer<Block> change, Runnable onComplete) {
+		this.blocks = blocks;
+		this.change = change;
+		this.onComplete = onComplete;
+	}
+	
+	/**
+	 * Queues changes to the given blocks. Must be called from the main thread.
+	 * @param blocks Blocks to change. The array will be reordered.
+	 * @param change Change to apply to each block.
+	 * @param onComplete Called on the main thread after all blocks have been changed.
+	 */
+	public static void queue(Block[] blocks, Consumer<Block> change, Runnable onComplete) {
+		Arrays.sort(blocks, CHUNK_ORDER); // Stable, so order within chunks is kept
+		queue.add(new BlockChangeQueue(blocks, change, onComplete));
+		if (task == null)
+			task = Bukkit.getScheduler().runTaskTimer(Skript.getInstance(), BlockChangeQueue::tick, 0, 1);
+	}
+	
+	private static void tick() {
+		long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SkriptConfig.gradualBlockChangeTimeLimit.value());
+		boolean first = true;
+		BlockChangeQueue changes;
+		while ((changes = queue.peek()) != null) {
+			if (!changes.run(end, first))
+				return; // Out of time, continue next tick
+			queue.poll();
+			changes.onComplete.run(); // May queue more changes
+			first = false;
+		}
+		BukkitTask task = BlockChangeQueue.task;
+		assert task != null;
+		task.cancel();
+		BlockChangeQueue.task = null;
+	}
+	
+	/**
+	 * Changes blocks until all are changed or time runs out.
+	 * @param end When to stop, as given by {@link System#nanoTime()}.
+	 * @param force Whether to change at least one block regardless of time.
+	 * @return Whether all blocks were changed.
+	 */
+	private boolean run(long end, boolean force) {
+		if (force && next < blocks.length)
+			change.accept(blocks[next++]);
+		while (next < blocks.length) {
+			if (System.nanoTime() - end >= 0)
+				return false;
+			change.accept(blocks[next++]);
+		}
+		return true;
+	}
+	
+}
@@ -18,27 +18,173 @@
  */
 package ch.njol.skript.util;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.Skript;
-import ch.njol.util.NullableChecker;
-import ch.njol.util.coll.iterator.CheckedIterator;
+import ch.njol.skript.bukkitutil.WorldUtils;
+import ch.njol.util.Math2;
 
 /**
+ * Iterates over blocks whose centers are within a sphere. Blocks are
+ * returned one chunk at a time, and only blocks that may be within the
+ * sphere are visited.
+ * 
  * @author Peter Güttinger
  */
-public class BlockSphereIterator extends CheckedIterator<Block> {
+public class BlockSphereIterator implements Iterator<Block> {
+	
+	private final World world;
+	private final double centerX, centerY, centerZ;
+	private final double radiusSquared;
+	
+	/**
+	 * Bounds of blocks that may be in the sphere.
+	 */
+	private final int minX, minY, minZ, maxX, maxY, maxZ;
+	
+	/**
+	 * Bounds of the current chunk, limited to the bounds of the sphere.
+	 */
+	private int chunkMinX, chunkMinZ, chunkMaxX, chunkMaxZ;
+	
+	/**
+	 * Bounds of x in the current row of blocks (blocks with same y and z).
+	 */
+	private int rowMinX, rowMaxX;
+	
+	private int x, y, z;
+	
+	@Nullable
+	private Block next;
 	
+	@SuppressWarnings("null")
 	public BlockSphereIterator(final Location center, final double radius) {
-		super(new AABB(center, radius + 0.5001, radius + 0.5001, radius + 0.5001).iterator(), new NullableChecker<Block>() {
-			private final double rSquared = radius * radius * Skript.EPSILON_MULT;
-			
-			@Override
-			public boolean check(final @Nullable Block b) {
-				return b != null && center.distanceSquared(b.getLocation().add(0.5, 0.5, 0.5)) < rSquared;
+		world = center.getWorld();
+		centerX = center.getX();
+		centerY = center.getY();
+		centerZ = center.getZ();
+		radiusSquared = radius * radius * Skript.EPSILON_MULT;
+		
+		double r = radius + 0.5001;
+		minX = Math2.ceilI(centerX - r - Skript.EPSILON);
+		minY = Math2.ceilI(Math.max(centerY - r, WorldUtils.getWorldMinHeight(world)) - Skript.EPSILON);
+		minZ = Math2.ceilI(centerZ - r - Skript.EPSILON);
+		maxX = Math2.floorI(centerX + r + Skript.EPSILON);
+		maxY = Math2.floorI(Math.min(centerY + r, world.getMaxHeight() - 1) + Skript.EPSILON);
+		maxZ = Math2.floorI(centerZ + r + Skript.EPSILON);
+		
+		if (minX > maxX || minY > maxY || minZ > maxZ)
+			return; // Nothing to iterate
+		
+		// Start from the first row of the first chunk
+		setChunk(minX >> 4, minZ >> 4);
+		y = minY;
+		z = chunkMinZ;
+		setRow();
+		findNext();
+	}
+	
+	@Override
+	public boolean hasNext() {
+		return next != null;
+	}
+	
+	@Override
+	public Block next() {
+		Block next = this.next;
+		if (next == null)
+			throw new NoSuchElementException();
+		findNext();
+		return next;
+	}
+	
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+	
+	private void findNext() {
+		while (true) {
+			if (x < rowMaxX) {
+				x++;
+				if (isInside(x, y, z)) {
+					next = world.getBlockAt(x, y, z);
+					return;
+				}
+			} else if (!nextRow()) {
+				next = null;
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Moves to next row in current chunk, or to the first row of next chunk.
+	 * @return False if there are no rows left.
+	 */
+	private boolean nextRow() {
+		z++;
+		if (z > chunkMaxZ) {
+			z = chunkMinZ;
+			y++;
+			if (y > maxY) {
+				if (!nextChunk())
+					return false;
+				y = minY;
+				z = chunkMinZ;
 			}
-		});
+		}
+		setRow();
+		return true;
 	}
+	
+	private boolean nextChunk() {
+		int chunkX = chunkMinX >> 4, chunkZ = chunkMinZ >> 4;
+		if (chunkZ < maxZ >> 4) {
+			setChunk(chunkX, chunkZ + 1);
+		} else if (chunkX < maxX >> 4) {
+			setChunk(chunkX + 1, minZ >> 4);
+		} else {
+			return false;
+		}
+		return true;
+	}
+	
+	private void setChunk(int chunkX, int chunkZ) {
+		chunkMinX = Math.max(minX, chunkX << 4);
+		chunkMaxX = Math.min(maxX, (chunkX << 4) + 15);
+		chunkMinZ = Math.max(minZ, chunkZ << 4);
+		chunkMaxZ = Math.min(maxZ, (chunkZ << 4) + 15);
+	}
+	
+	/**
+	 * Computes bounds of x for current y and z, limited to current chunk.
+	 * The bounds may include some blocks outside of the sphere, but never
+	 * exclude blocks inside of it.
+	 */
+	private void setRow() {
+		double dy = centerY - (y + 0.5), dz = centerZ - (z + 0.5);
+		double remaining = radiusSquared - dy * dy - dz * dz;
+		if (remaining < 0) { // Row doesn't touch the sphere
+			rowMinX = 0;
+			rowMaxX = -1;
+		} else {
+			double dx = Math.sqrt(remaining);
+			rowMinX = Math.max(chunkMinX, Math2.floorI(centerX - 0.5 - dx));
+			rowMaxX = Math.min(chunkMaxX, Math2.ceilI(centerX - 0.5 + dx));
+		}
+		x = rowMinX - 1; // findNext() increases x by one immediately
+	}
+	
+	private boolean isInside(int x, int y, int z) {
+		double dx = centerX - (x + 0.5), dy = centerY - (y + 0.5), dz = centerZ - (z + 0.5);
+		return dx * dx + dy * dy + dz * dz < radiusSquared;
+	}
+	
 }
@@ -0,0 +1,191 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.bukkit.Bukkit;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+
+/**
+ * Runs delayed tasks on the main thread without creating a Bukkit task for
+ * each of them. Tasks are kept in a timing wheel that is advanced by a single
+ * repeating task, and all tasks that are due in a tick are run together.
+ * <p>
+ * The repeating task is started when Skript is enabled, so that it runs before
+ * tasks that Skript and scripts schedule later for the same tick. Tasks that are
+ * scheduled in a tick before the wheel has been advanced are delayed by one more
+ * advance, so that they are not run in the same tick. Since this requires the
+ * server's tick counter, Bukkit's scheduler is used on servers that don't have it.
+ */
+public class DelayScheduler {
+	
+	/**
+	 * Number of slots in the wheel. Must be a power of two.
+	 */
+	private static final int SLOTS = 512;
+	
+	private static final class DelayedTask {
+		
+		final Runnable task;
+		final long due;
+		
+		DelayedTask(Runnable task, long due) {
+			this.task = task;
+			this.due = due;
+		}
+		
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static final List<DelayedTask>[] wheel = new List[SLOTS];
+	
+	/**
+	 * Tasks that were due, but were not run because of
+	 * {@link SkriptConfig#delayedTasksPerTickLimit}.
+	 */
+	private static final Deque<Runnable> overdue = new ArrayDeque<>();
+	
+	private static final boolean CURRENT_TICK_EXISTS = Skript.methodExists(Bukkit.class, "getCurrentTick");
+	
+	/**
+	 * How many times the wheel has been advanced.
+	 */
+	private static long tick;
+	
+	/**
+	 * Server tick in which the wheel was last advanced.
+	 */
+	private static int advancedAt = -1;
+	
+	private static int pending;
+	
+	private static boolean running;
+	
+	/**
+	 * Starts advancing the wheel every tick. Called when Skript is enabled.
+	 */
+	public static void start() {
+		if (!CURRENT_TICK_EXISTS)
+			return;
+		for (int i = 0; i < SLOTS; i++)
+			wheel[i] = new ArrayList<>();
+		overdue.clear();
+		pending = 0;
+		Bukkit.getScheduler().runTaskTimer(Skript.getInstance(), DelayScheduler::advance, 1, 1);
+		advancedAt = Bukkit.getCurrentTick(); // First advance is in next tick
+		running = true;
+	}
+	
+	/**
+	 * Stops advancing the wheel. Tasks that are still waiting are dropped,
+	 * and tasks scheduled later are passed to Bukkit's scheduler. Called when
+	 * Skript is disabled.
+	 */
+	public static void stop() {
+		running = false;
+		for (int i = 0; i < SLOTS; i++) {
+			if (wheel[i] != null)
+				wheel[i].clear();
+		}
+		overdue.clear();
+		pending = 0;
+	}
+	
+	/**
+	 * Schedules a task to be run on the main thread after the given amount of ticks.
+	 * @param task Task to run.
+	 * @param ticks Delay in ticks, at least one.
+	 */
+	public static void schedule(Runnable task, long ticks) {
+		if (!running || !Bukkit.isPrimaryThread()) {
+			Bukkit.getScheduler().scheduleSyncDelayedTask(Skript.getInstance(), task, ticks);
+			return;
+		}
+		long due = tick + Math.max(ticks, 1);
+		if (Bukkit.getCurrentTick() != advancedAt) // Wheel will still be advanced in this tick
+			due++;
+		wheel[(int) (due & (SLOTS - 1))].add(new DelayedTask(task, due));
+		pending++;
+	}
+	
+	/**
+	 * @return How many tasks are waiting to be run.
+	 */
+	public static int getPending() {
+		return pending;
+	}
+	
+	private static void advance() {
+		tick++;
+		advancedAt = Bukkit.getCurrentTick();
+		int limit = SkriptConfig.delayedTasksPerTickLimit.value();
+		if (limit <= 0)
+			limit = Integer.MAX_VALUE;
+		
+		// Tasks that were left from previous ticks go first
+		int ran = 0;
+		while (ran < limit && !overdue.isEmpty()) {
+			pending--;
+			ran++;
+			run(overdue.poll());
+		}
+		
+		int slot = (int) (tick & (SLOTS - 1));
+		List<DelayedTask> tasks = wheel[slot];
+		if (tasks.isEmpty())
+			return;
+		
+		// Tasks scheduled while running due tasks may end up in this slot
+		List<DelayedTask> later = new ArrayList<>();
+		wheel[slot] = later;
+		List<DelayedTask> due = new ArrayList<>();
+		for (DelayedTask task : tasks) {
+			if (task.due == tick) {
+				due.add(task);
+			} else {
+				later.add(task);
+			}
+		}
+		
+		for (DelayedTask task : due) {
+			if (ran < limit) {
+				pending--;
+				ran++;
+				run(task.task);
+			} else {
+				overdue.add(task.task);
+			}
+		}
+	}
+	
+	private static void run(Runnable task) {
+		try {
+			task.run();
+		} catch (Throwable e) {
+			Skript.exception(e, "A delayed task threw an exception");
+		}
+	}
+	
+}
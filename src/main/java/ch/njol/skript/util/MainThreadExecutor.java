@@ -0,0 +1,180 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.util;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+
+import ch.njol.skript.Skript;
+
+/**
+ * Runs tasks submitted from any thread on the main thread. Tasks are queued
+ * without creating a Bukkit task for each of them, and all tasks that were
+ * queued before a tick are run together by a single repeating task.
+ */
+public class MainThreadExecutor {
+	
+	private static final class Call<T> implements Runnable {
+		
+		final Callable<T> method;
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		
+		Call(Callable<T> method) {
+			this.method = method;
+		}
+		
+		@Override
+		public void run() {
+			try {
+				future.complete(method.call());
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		}
+		
+	}
+	
+	private static final class Queued {
+		
+		final Runnable task;
+		final long time = System.nanoTime();
+		
+		Queued(Runnable task) {
+			this.task = task;
+		}
+		
+	}
+	
+	private static final Queue<Queued> queue = new ConcurrentLinkedQueue<>();
+	
+	/**
+	 * How long tasks have waited in the queue, in nanoseconds. Only accessed
+	 * on the main thread.
+	 */
+	private static long totalWait, maxWait, tasksRun;
+	
+	private static volatile boolean running;
+	
+	/**
+	 * Starts running queued tasks every tick. Called when Skript is enabled.
+	 */
+	public static void start() {
+		Bukkit.getScheduler().runTaskTimer(Skript.getInstance(), MainThreadExecutor::runQueued, 1, 1);
+		running = true;
+	}
+	
+	/**
+	 * Stops running queued tasks. Tasks that are still queued or are queued
+	 * later are cancelled. Called when Skript is disabled.
+	 */
+	public static void stop() {
+		running = false;
+		Queued queued;
+		while ((queued = queue.poll()) != null) {
+			if (queued.task instanceof Call)
+				((Call<?>) queued.task).future.cancel(false); // Don't leave callers waiting
+		}
+	}
+	
+	/**
+	 * Runs a task on the main thread during the next tick.
+	 * @param task Task to run.
+	 */
+	public static void execute(Runnable task) {
+		if (!running) {
+			Bukkit.getScheduler().runTask(Skript.getInstance(), task);
+			return;
+		}
+		queue.add(new Queued(task));
+	}
+	
+	/**
+	 * Calls a method on the main thread during the next tick. Before the
+	 * executor is started, Bukkit's scheduler is used instead. If Skript is
+	 * disabled, the method might never be called, in which case the returned
+	 * future is cancelled.
+	 * @param method Method to call.
+	 * @return A future that is completed when the method has been called.
+	 */
+	public static <T> Future<T> submit(Callable<T> method) {
+		Call<T> call = new Call<>(method);
+		if (!running)
+			return callSyncMethod(call);
+		Queued queued = new Queued(call);
+		queue.add(queued);
+		if (!running && queue.remove(queued)) // Stopped while we were queuing
+			return callSyncMethod(call);
+		return call.future;
+	}
+	
+	private static <T> Future<T> callSyncMethod(Call<T> call) {
+		Skript skript = Skript.getInstance();
+		if (skript.isEnabled())
+			return Bukkit.getScheduler().callSyncMethod(skript, call.method);
+		call.future.cancel(false);
+		return call.future;
+	}
+	
+	/**
+	 * @return How many tasks are waiting to be run.
+	 */
+	public static int getQueued() {
+		return queue.size();
+	}
+	
+	/**
+	 * @return Longest time a task has waited to be run, in milliseconds.
+	 */
+	public static long getMaxWait() {
+		return TimeUnit.NANOSECONDS.toMillis(maxWait);
+	}
+	
+	/**
+	 * @return Average time tasks have waited to be run, in milliseconds.
+	 */
+	public static long getAverageWait() {
+		return tasksRun == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWait / tasksRun);
+	}
+	
+	private static void runQueued() {
+		long now = System.nanoTime();
+		// Tasks queued while running these are run on next tick
+		for (int count = queue.size(); count > 0; count--) {
+			Queued queued = queue.poll();
+			if (queued == null)
+				break;
+			long wait = now - queued.time;
+			totalWait += wait;
+			maxWait = Math.max(maxWait, wait);
+			tasksRun++;
+			try {
+				queued.task.run();
+			} catch (Throwable e) {
+				Skript.exception(e, "A task that was run on the main thread threw an exception");
+			}
+		}
+	}
+	
+}
@@ -166,7 +166,7 @@ public abstract class Task implements Runnable, Closeable {
 				Skript.exception(e);
 			}
 		}
-		final Future<T> f = Bukkit.getScheduler().callSyncMethod(p, c);
+		final Future<T> f = p == Skript.getInstance() ? MainThreadExecutor.submit(c) : Bukkit.getScheduler().callSyncMethod(p, c);
 		try {
 			while (true) {
 				try {